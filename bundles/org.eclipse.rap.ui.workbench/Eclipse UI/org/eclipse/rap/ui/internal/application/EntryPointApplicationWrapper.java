@@ -46,6 +46,12 @@ public final class EntryPointApplicationWrapper implements EntryPoint {
     return result;
   }
 
+  /*
+   * The application is created for each session. It cannot be created ahead of time in a pool of
+   * warm sessions: the workbench it starts is bound to the UISession and Display of the request
+   * that starts the session and runs its event loop in createUI(). The registry data shared by all
+   * sessions can be read ahead instead, see SharedRegistryWarmUp.
+   */
   private IApplication createApplication() {
     IApplication application;
     try {
@@ -11,8 +11,13 @@
 package org.eclipse.rap.ui.internal.servlet;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -35,88 +40,152 @@ class ResourceReader {
     return createResourceList( sortedResources );
   }
 
+  /*
+   * The resource classes are instantiated on the calling thread, contributed classes may rely on
+   * the context class loader or on thread locals of the configuring thread.
+   */
   private static DependentResource[] readResourcesFromExtensions() {
     IExtensionRegistry registry = Platform.getExtensionRegistry();
     IExtensionPoint point = registry.getExtensionPoint( ID_RESOURCES );
     IConfigurationElement[] elements = point.getConfigurationElements();
     DependentResource[] resources = new DependentResource[ elements.length ];
     for( int i = 0; i < elements.length; i++ ) {
-      try {
-        IResource resource = ( IResource )elements[ i ].createExecutableExtension( "class" );
-        String resourceId = elements[ i ].getAttribute( "id" );
-        IConfigurationElement[] dependsOn = elements[ i ].getChildren( "dependsOn" );
-        List<String> resourceDependencies = new ArrayList<String>();
-        for( int j = 0; j < dependsOn.length; j++ ) {
-          String dependency = dependsOn[ j ].getAttribute( "resourceId" );
-          resourceDependencies.add( dependency );
-        }
-        resources[ i ] = new DependentResource( resource, resourceId, resourceDependencies );
-      } catch( CoreException ce ) {
-        WorkbenchPlugin.getDefault().getLog().log( ce.getStatus() );
-      }
+      resources[ i ] = readResource( elements[ i ] );
     }
     return resources;
   }
 
+  private static DependentResource readResource( IConfigurationElement element ) {
+    try {
+      IResource resource = ( IResource )element.createExecutableExtension( "class" );
+      String resourceId = element.getAttribute( "id" );
+      IConfigurationElement[] dependsOn = element.getChildren( "dependsOn" );
+      List<String> resourceDependencies = new ArrayList<String>();
+      for( int j = 0; j < dependsOn.length; j++ ) {
+        String dependency = dependsOn[ j ].getAttribute( "resourceId" );
+        resourceDependencies.add( dependency );
+      }
+      return new DependentResource( resource, resourceId, resourceDependencies );
+    } catch( CoreException ce ) {
+      WorkbenchPlugin.getDefault().getLog().log( ce.getStatus() );
+    }
+    return null;
+  }
+
+  /*
+   * Kahn's algorithm: every resource counts its unresolved dependencies and is released when the
+   * count drops to zero. Resources are taken in the order of the extensions; a resource that was
+   * waiting is added right after the last of its dependencies, waiting resources that are
+   * released together are added in the order of the extensions.
+   */
   private static DependentResource[] sortResources( DependentResource[] resources ) {
     DependentResource[] result = new DependentResource[ resources.length ];
-    List<String> sortedResourceIds = new ArrayList<String>();
-    List<DependentResource> deferredResources = new ArrayList<DependentResource>();
+    Set<String> sortedResourceIds = new HashSet<String>();
+    Map<String, List<DependentResource>> waitingResources
+      = new HashMap<String, List<DependentResource>>();
+    PriorityQueue<DependentResource> releasedResources = new PriorityQueue<DependentResource>();
     int index = 0;
     for( int i = 0; i < resources.length; i++ ) {
       DependentResource resource = resources[ i ];
       if( resource != null ) {
-        resource.dependencies.removeAll( sortedResourceIds );
-        boolean checkDeferredResources = false;
-        if( resource.dependencies.isEmpty() ) {
-          result[ index++ ] = resource;
-          sortedResourceIds.add( resource.id );
-          checkDeferredResources = true;
-        } else {
-          deferredResources.add( resource );
+        resource.index = i;
+        for( String dependency : resource.dependencies ) {
+          if( !sortedResourceIds.contains( dependency ) ) {
+            List<DependentResource> waiting = waitingResources.get( dependency );
+            if( waiting == null ) {
+              waiting = new ArrayList<DependentResource>();
+              waitingResources.put( dependency, waiting );
+            }
+            waiting.add( resource );
+            resource.unresolvedDependencies++;
+          }
+        }
+        if( resource.unresolvedDependencies == 0 ) {
+          releasedResources.add( resource );
         }
-        while( checkDeferredResources ) {
-          checkDeferredResources = false;
-          Iterator<DependentResource> iterator = deferredResources.iterator();
-          while( iterator.hasNext() ) {
-            DependentResource deferredResource = iterator.next();
-            deferredResource.dependencies.removeAll( sortedResourceIds );
-            if( deferredResource.dependencies.isEmpty() ) {
-              result[ index++ ] = deferredResource;
-              sortedResourceIds.add( deferredResource.id );
-              iterator.remove();
-              checkDeferredResources = true;
+        while( !releasedResources.isEmpty() ) {
+          DependentResource releasedResource = releasedResources.poll();
+          result[ index++ ] = releasedResource;
+          if( sortedResourceIds.add( releasedResource.id ) ) {
+            List<DependentResource> waiting = waitingResources.remove( releasedResource.id );
+            if( waiting != null ) {
+              for( DependentResource waitingResource : waiting ) {
+                if( --waitingResource.unresolvedDependencies == 0 ) {
+                  releasedResources.add( waitingResource );
+                }
+              }
             }
           }
         }
       }
     }
-    if( deferredResources.size() != 0 ) {
-      String pluginId = WorkbenchPlugin.getDefault().getBundle().getSymbolicName();
-      String message = "Dependencies could not be resolved for " + deferredResources;
-      WorkbenchPlugin.getDefault().getLog().log( new Status( IStatus.ERROR, pluginId, message ) );
+    if( !waitingResources.isEmpty() ) {
+      logUnresolvedDependencies( resources, waitingResources, sortedResourceIds );
     }
     return result;
   }
 
+  private static void logUnresolvedDependencies( DependentResource[] resources,
+                                                 Map<String, List<DependentResource>> waitingResources,
+                                                 Set<String> sortedResourceIds )
+  {
+    Set<String> knownIds = new HashSet<String>();
+    for( DependentResource resource : resources ) {
+      if( resource != null && resource.id != null ) {
+        knownIds.add( resource.id );
+      }
+    }
+    StringBuilder message = new StringBuilder( "Dependencies could not be resolved for [" );
+    boolean first = true;
+    for( DependentResource resource : resources ) {
+      if( resource != null && resource.unresolvedDependencies > 0 ) {
+        message.append( first ? "" : ", " ).append( resource ).append( " (" );
+        first = false;
+        boolean firstDependency = true;
+        for( String dependency : resource.dependencies ) {
+          if( !sortedResourceIds.contains( dependency ) ) {
+            message.append( firstDependency ? "" : ", " ).append( dependency );
+            message.append( knownIds.contains( dependency ) ? ": cyclic" : ": missing" );
+            firstDependency = false;
+          }
+        }
+        message.append( ")" );
+      }
+    }
+    message.append( "]" );
+    String pluginId = WorkbenchPlugin.getDefault().getBundle().getSymbolicName();
+    WorkbenchPlugin.getDefault().getLog().log( new Status( IStatus.ERROR,
+                                                           pluginId,
+                                                           message.toString() ) );
+  }
+
   private static List<IResource> createResourceList( DependentResource[] sortedResources ) {
     List<IResource> result = new ArrayList<IResource>();
     for( DependentResource dependentResource : sortedResources ) {
-      result.add( dependentResource.resource );
+      if( dependentResource != null ) {
+        result.add( dependentResource.resource );
+      }
     }
     return result;
   }
 
-  private static final class DependentResource {
+  private static final class DependentResource implements Comparable<DependentResource> {
 
     public final IResource resource;
     public final String id;
-    public final List<String> dependencies;
+    public final Set<String> dependencies;
+    int index;
+    int unresolvedDependencies;
 
     public DependentResource( IResource resource, String id, List<String> dependencies ) {
       this.resource = resource;
       this.id = id;
-      this.dependencies = dependencies;
+      this.dependencies = new LinkedHashSet<String>( dependencies );
+    }
+
+    @Override
+    public int compareTo( DependentResource other ) {
+      return index - other.index;
     }
 
     @Override
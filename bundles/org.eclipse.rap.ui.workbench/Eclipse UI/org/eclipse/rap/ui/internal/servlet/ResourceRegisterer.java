@@ -10,8 +10,19 @@
  ******************************************************************************/
 package org.eclipse.rap.ui.internal.servlet;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.rap.rwt.application.Application;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
@@ -24,6 +35,11 @@ import org.eclipse.swt.SWT;
 
 class ResourceRegisterer {
 
+  // number of bytes of the SHA-256 digest used in the name of the concatenated script
+  private static final int HASH_LENGTH = 8;
+  // upper bound of the threads that load the content of the JS libraries
+  private static final int MAX_LOADER_THREADS = 4;
+
   private final Application application;
   private final ApplicationContextImpl applicationContext;
   private final ContentBuffer concatenatedScript;
@@ -35,44 +51,164 @@ class ResourceRegisterer {
   }
 
   public void registerResources( List<IResource> resources ) {
-    for( IResource resource : resources ) {
+    byte[][] scripts = loadScripts( resources );
+    for( int i = 0; i < resources.size(); i++ ) {
+      IResource resource = resources.get( i );
       if( resource != null ) {
-        registerResource( resource );
+        registerResource( resource, scripts[ i ] );
+      }
+    }
+    byte[] content = concatenatedScript.getContent();
+    if( content.length > 0 ) {
+      registerConcatenatedScript( content );
+    }
+  }
+
+  /*
+   * The content of the JS libraries is read in parallel on a dedicated executor that is shut down
+   * afterwards, it is concatenated in the order of the resources. The common fork-join pool is
+   * not used, its threads are shared with the application and must not block on I/O.
+   */
+  private static byte[][] loadScripts( List<IResource> resources ) {
+    byte[][] result = new byte[ resources.size() ][];
+    List<Integer> scriptIndices = new ArrayList<Integer>();
+    for( int i = 0; i < resources.size(); i++ ) {
+      IResource resource = resources.get( i );
+      if( resource != null && !resource.isExternal() && resource.isJSLibrary() ) {
+        scriptIndices.add( Integer.valueOf( i ) );
+      }
+    }
+    int threadCount = Math.min( scriptIndices.size(),
+                                Math.min( MAX_LOADER_THREADS,
+                                          Runtime.getRuntime().availableProcessors() ) );
+    if( threadCount <= 1 ) {
+      for( Integer index : scriptIndices ) {
+        result[ index.intValue() ] = loadScript( resources.get( index.intValue() ) );
+      }
+      return result;
+    }
+    ExecutorService executor = Executors.newFixedThreadPool( threadCount, new LoaderThreadFactory() );
+    try {
+      List<Future<byte[]>> scripts = new ArrayList<Future<byte[]>>( scriptIndices.size() );
+      for( Integer index : scriptIndices ) {
+        final IResource resource = resources.get( index.intValue() );
+        scripts.add( executor.submit( new Callable<byte[]>() {
+          @Override
+          public byte[] call() {
+            return loadScript( resource );
+          }
+        } ) );
+      }
+      for( int i = 0; i < scriptIndices.size(); i++ ) {
+        result[ scriptIndices.get( i ).intValue() ] = getScript( scripts.get( i ) );
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    return result;
+  }
+
+  private static byte[] getScript( Future<byte[]> script ) {
+    try {
+      return script.get();
+    } catch( ExecutionException exception ) {
+      Throwable cause = exception.getCause();
+      if( cause instanceof RuntimeException ) {
+        throw ( RuntimeException )cause;
+      }
+      if( cause instanceof Error ) {
+        throw ( Error )cause;
       }
+      throw new IllegalStateException( cause );
+    } catch( InterruptedException exception ) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException( "Interrupted while loading resources", exception );
     }
-    if( concatenatedScript.getContent().length > 0 ) {
-      registerConcatenatedScript();
+  }
+
+  private static byte[] loadScript( IResource resource ) {
+    try {
+      InputStream inputStream = resource.getLoader().getResourceAsStream( resource.getLocation() );
+      try {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[ 8192 ];
+        int read = inputStream.read( buffer );
+        while( read != -1 ) {
+          outputStream.write( buffer, 0, read );
+          read = inputStream.read( buffer );
+        }
+        return outputStream.toByteArray();
+      } finally {
+        inputStream.close();
+      }
+    } catch( Exception exception ) {
+      String message = "Failed to load resource: " + resource.getLocation();
+      throw new IllegalArgumentException( message, exception );
     }
   }
 
-  private void registerResource( IResource resource ) {
+  private void registerResource( IResource resource, byte[] script ) {
     if( resource.isExternal() ) {
       applicationContext.getStartupPage().addJsLibrary( resource.getLocation() );
     } else if( resource.isJSLibrary() ) {
-      appendToConcatenatedScript( resource );
+      appendToConcatenatedScript( resource, script );
     } else {
       String location = resource.getLocation();
       application.addResource( location, new WorkbenchResourceLoader( resource ) );
     }
   }
 
-  private void appendToConcatenatedScript( IResource resource ) {
+  private void appendToConcatenatedScript( IResource resource, byte[] script ) {
     try {
-      concatenatedScript.append( resource.getLoader().getResourceAsStream( resource.getLocation() ) );
+      concatenatedScript.append( new ByteArrayInputStream( script ) );
     } catch( Exception exception ) {
       String message = "Failed to load resource: " + resource.getLocation();
       throw new IllegalArgumentException( message, exception );
     }
   }
 
-  private void registerConcatenatedScript() {
-    application.addResource( SWT.getVersion() + "/resources.js", new ResourceLoader() {
+  /*
+   * The name of the script contains a hash of its content. Browsers and proxies may therefore
+   * cache it for as long as they like, a changed script is always loaded under a new name, even
+   * if only a contributed library changed and the SWT version did not.
+   */
+  private void registerConcatenatedScript( final byte[] content ) {
+    String name = SWT.getVersion() + "/resources-" + getContentHash( content ) + ".js";
+    application.addResource( name, new ResourceLoader() {
       @Override
       public InputStream getResourceAsStream( String resourceName ) {
-        return concatenatedScript.getContentAsStream();
+        return new ByteArrayInputStream( content );
       }
     } );
-    applicationContext.getStartupPage().addJsLibrary( "rwt-resources/" + SWT.getVersion() + "/resources.js" );
+    applicationContext.getStartupPage().addJsLibrary( "rwt-resources/" + name );
+  }
+
+  static String getContentHash( byte[] content ) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance( "SHA-256" ).digest( content );
+    } catch( NoSuchAlgorithmException exception ) {
+      // every Java platform is required to support SHA-256
+      throw new IllegalStateException( exception );
+    }
+    StringBuilder result = new StringBuilder( HASH_LENGTH * 2 );
+    for( int i = 0; i < HASH_LENGTH; i++ ) {
+      result.append( Character.forDigit( ( digest[ i ] >> 4 ) & 0xF, 16 ) );
+      result.append( Character.forDigit( digest[ i ] & 0xF, 16 ) );
+    }
+    return result.toString();
+  }
+
+  private static class LoaderThreadFactory implements ThreadFactory {
+
+    private int count;
+
+    @Override
+    public synchronized Thread newThread( Runnable runnable ) {
+      Thread thread = new Thread( runnable, "RAP Resource Loader " + ++count );
+      thread.setDaemon( true );
+      return thread;
+    }
   }
 
   private static class WorkbenchResourceLoader implements ResourceLoader {
@@ -51,6 +51,7 @@ import org.eclipse.rap.ui.internal.preferences.WorkbenchFileSettingStoreFactory;
 import org.eclipse.rap.ui.resources.IResource;
 import org.eclipse.swt.widgets.Widget;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
@@ -93,15 +94,21 @@ public class WorkbenchApplicationConfiguration implements ApplicationConfigurati
 
   @Override
   public void configure( Application application ) {
-    application.setOperationMode( OperationMode.SWT_COMPATIBILITY );
-    registerSettingStoreFactory( application );
-    registerThemeableWidgets( application );
-    registerThemes( application );
-    registerThemeContributions( application );
-    registerResources( application );
-    registerServiceHandlers( application );
-    registerBrandings( application ); // [rh] brandings must be red before apps/entry points
-    registerEntryPoints( application );
+    StartupProfiler.Phase phase
+      = StartupProfiler.start( "WorkbenchApplicationConfiguration.configure" ); //$NON-NLS-1$
+    try {
+      application.setOperationMode( OperationMode.SWT_COMPATIBILITY );
+      registerSettingStoreFactory( application );
+      registerThemeableWidgets( application );
+      registerThemes( application );
+      registerThemeContributions( application );
+      registerResources( application );
+      registerServiceHandlers( application );
+      registerBrandings( application ); // [rh] brandings must be red before apps/entry points
+      registerEntryPoints( application );
+    } finally {
+      phase.end();
+    }
   }
 
   private void registerSettingStoreFactory( Application application ) {
@@ -278,8 +285,14 @@ public class WorkbenchApplicationConfiguration implements ApplicationConfigurati
   }
 
   private static void registerResources( Application application ) {
-    List<IResource> resources = ResourceReader.readResources();
-    new ResourceRegisterer( application ).registerResources( resources );
+    StartupProfiler.Phase phase
+      = StartupProfiler.start( "WorkbenchApplicationConfiguration.registerResources" ); //$NON-NLS-1$
+    try {
+      List<IResource> resources = ResourceReader.readResources();
+      new ResourceRegisterer( application ).registerResources( resources );
+    } finally {
+      phase.end();
+    }
   }
 
   private static ResourceLoader createThemeResourceLoader( final Bundle bundle ) {
@@ -16,8 +16,10 @@
  *******************************************************************************/
 package org.eclipse.ui.dialogs;
 
+import java.util.Map;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
@@ -27,9 +29,13 @@ import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.accessibility.AccessibleAdapter;
 import org.eclipse.swt.accessibility.AccessibleEvent;
@@ -58,6 +64,7 @@ import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.ui.IWorkbenchPreferenceConstants;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.misc.StringMatcher;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -128,6 +135,30 @@ public class FilteredTree extends Composite {
 	 */
 	private Job refreshJob;
 
+	/**
+	 * The job matching the current filter text against a snapshot of the tree
+	 * content off the UI thread, if the pattern filter supports it.
+	 */
+	private Job filterJob;
+
+	/**
+	 * The filter text, visibility and content generation computed by the last
+	 * filter job, to be applied by the refresh job.
+	 */
+	private volatile Object[] filterResult;
+
+	/**
+	 * Whether the refresh job is the one of this class, which applies the
+	 * result of the filter job.
+	 */
+	private Boolean defaultRefreshJob;
+
+	/**
+	 * Whether the refresh job is refreshing the tree for a new filter text, as
+	 * opposed to a change of the tree content.
+	 */
+	private boolean refreshingFilter;
+
 	/**
 	 * The parent composite of the filtered tree.
 	 *
@@ -433,7 +464,10 @@ public class FilteredTree extends Composite {
 		treeViewer = doCreateTreeViewer(parent, style);
 		GridData data = new GridData(SWT.FILL, SWT.FILL, true, true);
 		treeViewer.getControl().setLayoutData(data);
-		treeViewer.getControl().addDisposeListener(e -> refreshJob.cancel());
+		treeViewer.getControl().addDisposeListener(e -> {
+			refreshJob.cancel();
+			cancelFilterJob();
+		});
 		if (treeViewer instanceof NotifyingTreeViewer) {
 			patternFilter.setUseCache(true);
 		}
@@ -508,6 +542,7 @@ public class FilteredTree extends Composite {
 
 				boolean initial = initialText != null
 						&& initialText.equals(text);
+				applyFilterResult(text);
 				if (initial) {
 					patternFilter.setPattern(null);
 				} else if (text != null) {
@@ -534,7 +569,12 @@ public class FilteredTree extends Composite {
 							}
 						}
 					}
-					treeViewer.refresh(true);
+					refreshingFilter = true;
+					try {
+						treeViewer.refresh(true);
+					} finally {
+						refreshingFilter = false;
+					}
 
 					if (text.length() > 0 && !initial) {
 						/*
@@ -852,7 +892,118 @@ public class FilteredTree extends Composite {
 		previousFilterText = getFilterString();
 		// cancel currently running job first, to prevent unnecessary redraw
 		refreshJob.cancel();
-		refreshJob.schedule(getRefreshJobDelay());
+		if (!scheduleFilterJob(previousFilterText)) {
+			refreshJob.schedule(getRefreshJobDelay());
+		}
+	}
+
+	/**
+	 * Matches the given filter text against a snapshot of the tree content in
+	 * a background job, which then schedules the refresh job to apply the
+	 * result. The snapshot is taken by the same job, outside of the UI thread.
+	 * Matching is done in the refresh job itself if the pattern filter, the
+	 * tree viewer or the refresh job do not support snapshots.
+	 *
+	 * @param text
+	 *            the filter text
+	 * @return <code>true</code> if the filter job was scheduled
+	 */
+	private boolean scheduleFilterJob(final String text) {
+		cancelFilterJob();
+		if (text == null || text.length() == 0 || text.equals(initialText)
+				|| !(treeViewer instanceof NotifyingTreeViewer) || !isDefaultRefreshJob()
+				|| !patternFilter.supportsSnapshot(treeViewer)) {
+			return false;
+		}
+		final StringMatcher matcher = patternFilter.createMatcher(text);
+		if (matcher == null) {
+			return false;
+		}
+		final Object input = treeViewer.getInput();
+		final ITreeContentProvider contentProvider = (ITreeContentProvider) treeViewer.getContentProvider();
+		final ILabelProvider labelProvider = (ILabelProvider) treeViewer.getLabelProvider();
+		final UISession uiSession = RWT.getUISession(getDisplay());
+		filterJob = new Job("Filter") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				int generation = patternFilter.getContentGeneration();
+				final PatternFilterSnapshot[] snapshot = new PatternFilterSnapshot[1];
+				try {
+// RAP [if] fake context, the providers may access the session
+					uiSession.exec(new Runnable() {
+						@Override
+						public void run() {
+							snapshot[0] = patternFilter.getSnapshot(input, contentProvider, labelProvider);
+						}
+					});
+				} catch (RuntimeException e) {
+					// the providers need the UI thread, filter in the refresh job
+					patternFilter.disableSnapshot();
+					refreshJob.schedule();
+					return Status.OK_STATUS;
+				}
+				Map<Object, Boolean> visibility;
+				try {
+					visibility = snapshot[0].computeVisibility(matcher, monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				filterResult = new Object[] { text, visibility, Integer.valueOf(generation) };
+				refreshJob.schedule();
+				return Status.OK_STATUS;
+			}
+		};
+		filterJob.setSystem(true);
+		filterJob.schedule(getRefreshJobDelay());
+		return true;
+	}
+
+	private void cancelFilterJob() {
+		if (filterJob != null) {
+			filterJob.cancel();
+			filterJob = null;
+		}
+		filterResult = null;
+	}
+
+	/**
+	 * Hands the visibility computed by the filter job to the pattern filter,
+	 * if it was computed for the given filter text and the current content.
+	 */
+	@SuppressWarnings("unchecked")
+	private void applyFilterResult(String text) {
+		Object[] result = filterResult;
+		filterResult = null;
+		if (result != null && result[0].equals(text)
+				&& ((Integer) result[2]).intValue() == patternFilter.getContentGeneration()) {
+			patternFilter.setVisibility(text, (Map<Object, Boolean>) result[1]);
+		}
+	}
+
+	/**
+	 * Subclasses that replace the refresh job do not apply the result of the
+	 * filter job, so the tree is filtered by their refresh job only.
+	 */
+	private boolean isDefaultRefreshJob() {
+		if (defaultRefreshJob == null) {
+			defaultRefreshJob = Boolean.TRUE;
+			for (Class<?> c = getClass(); c != FilteredTree.class; c = c.getSuperclass()) {
+				try {
+					c.getDeclaredMethod("doCreateRefreshJob"); //$NON-NLS-1$
+					defaultRefreshJob = Boolean.FALSE;
+					break;
+				} catch (NoSuchMethodException e) {
+					// not overridden here, check the superclass
+				} catch (SecurityException e) {
+					defaultRefreshJob = Boolean.FALSE;
+					break;
+				}
+			}
+		}
+		return defaultRefreshJob.booleanValue();
 	}
 
 	/**
@@ -1225,16 +1376,29 @@ public class FilteredTree extends Composite {
 
 		@Override
 		public void refresh() {
-			getPatternFilter().clearCaches();
+			clearCachesOnRefresh();
 			super.refresh();
 		}
 
 		@Override
 		public void refresh(boolean updateLabels) {
-			getPatternFilter().clearCaches();
+			clearCachesOnRefresh();
 			super.refresh(updateLabels);
 		}
 
+		/*
+		 * The refresh for a new filter text keeps the visibility computed by
+		 * the filter job, but re-reads the content, so the snapshot is taken
+		 * again for the next filter text.
+		 */
+		private void clearCachesOnRefresh() {
+			if (refreshingFilter) {
+				getPatternFilter().clearSnapshot();
+			} else {
+				getPatternFilter().clearCaches();
+			}
+		}
+
 		@Override
 		public void refresh(Object element) {
 			getPatternFilter().clearCaches();
@@ -1290,6 +1454,20 @@ public class FilteredTree extends Composite {
 			super.setHasChildren(elementOrTreePath, hasChildren);
 		}
 
+		@Override
+		public void update(Object element, String[] properties) {
+			getPatternFilter().clearSnapshot();
+			getPatternFilter().setVisibility(null, null);
+			super.update(element, properties);
+		}
+
+		@Override
+		public void update(Object[] elements, String[] properties) {
+			getPatternFilter().clearSnapshot();
+			getPatternFilter().setVisibility(null, null);
+			super.update(elements, properties);
+		}
+
 	}
 
 }
@@ -21,6 +21,7 @@ import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ContentViewer;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import org.eclipse.ui.internal.misc.StringMatcher;
@@ -63,6 +64,30 @@ public class PatternFilter extends ViewerFilter {
 
     private static Object[] EMPTY = new Object[0];
 
+	/*
+	 * Snapshot of the viewer content, kept until the content changes. Only
+	 * used if this filter does not override the matching methods. It is
+	 * taken by the filter job of FilteredTree, outside of the UI thread.
+	 */
+	private volatile PatternFilterSnapshot snapshot;
+
+	/*
+	 * Incremented whenever the snapshot is dropped, so that snapshots and
+	 * visibilities computed from outdated content can be detected. Guarded
+	 * by this.
+	 */
+	private int contentGeneration;
+
+	private volatile Boolean snapshotSupported;
+
+	/*
+	 * Visibility of elements for visibilityPattern, computed from the snapshot
+	 * off the UI thread by FilteredTree.
+	 */
+	private Map<Object, Boolean> visibility;
+
+	private String visibilityPattern;
+
     @Override
 	public Object[] filter(Viewer viewer, Object parent, Object[] elements) {
     	// we don't want to optimize if we've extended the filter ... this
@@ -170,20 +195,35 @@ public class PatternFilter extends ViewerFilter {
     		useEarlyReturnIfMatcherIsNull = false;
     		return;
     	}
-        clearCaches();
-        if (patternString == null || patternString.equals("")) { //$NON-NLS-1$
-			matcher = null;
-		} else {
-			String pattern = patternString;
-			if (!patternString.endsWith(" ")) //$NON-NLS-1$
-				pattern += "*"; //$NON-NLS-1$
-			if (includeLeadingWildcard) {
-				pattern = "*" + pattern; //$NON-NLS-1$
-			}
-			matcher = new StringMatcher(pattern, true, false);
+		cache.clear();
+		foundAnyCache.clear();
+		if (visibilityPattern == null || !visibilityPattern.equals(patternString)) {
+			visibility = null;
+			visibilityPattern = null;
 		}
+		matcher = createMatcher(patternString);
     }
 
+	/**
+	 * Creates the matcher for the given pattern string.
+	 *
+	 * @param patternString
+	 *            the pattern string, may be <code>null</code>
+	 * @return the matcher, or <code>null</code> if the pattern is empty
+	 */
+	/* package */ StringMatcher createMatcher(String patternString) {
+		if (patternString == null || patternString.equals("")) { //$NON-NLS-1$
+			return null;
+		}
+		String pattern = patternString;
+		if (!patternString.endsWith(" ")) //$NON-NLS-1$
+			pattern += "*"; //$NON-NLS-1$
+		if (includeLeadingWildcard) {
+			pattern = "*" + pattern; //$NON-NLS-1$
+		}
+		return new StringMatcher(pattern, true, false);
+	}
+
 	/**
 	 * Clears the caches used for optimizing this filter. Needs to be called whenever
 	 * the tree content changes.
@@ -191,16 +231,128 @@ public class PatternFilter extends ViewerFilter {
 	/* package */ void clearCaches() {
 		cache.clear();
         foundAnyCache.clear();
+		clearSnapshot();
+		visibility = null;
+		visibilityPattern = null;
+	}
+
+	/**
+	 * Drops the snapshot of the viewer content, but keeps the visibility that
+	 * was computed from it. Needs to be called whenever the viewer re-reads
+	 * its content or labels.
+	 */
+	/* package */ synchronized void clearSnapshot() {
+		snapshot = null;
+		contentGeneration++;
+	}
+
+	/**
+	 * Returns the generation of the viewer content. It changes whenever the
+	 * snapshot is dropped.
+	 */
+	/* package */ synchronized int getContentGeneration() {
+		return contentGeneration;
+	}
+
+	/**
+	 * Returns whether the content of the given viewer can be matched against
+	 * a snapshot. Must be called in the UI thread.
+	 *
+	 * @param viewer
+	 *            the viewer this filter is installed on
+	 * @return <code>false</code> if this filter or the viewer do not use the
+	 *         default matching and the content has to be filtered through the
+	 *         viewer
+	 */
+	/* package */ boolean supportsSnapshot(TreeViewer viewer) {
+		return supportsSnapshot() && viewer.getContentProvider() instanceof ITreeContentProvider
+				&& viewer.getLabelProvider() instanceof ILabelProvider;
+	}
+
+	/**
+	 * Returns a snapshot of the viewer content that can be matched off the UI
+	 * thread, taking it if needed. The snapshot is kept only if the content
+	 * did not change while it was taken.
+	 *
+	 * @param input
+	 *            the input of the viewer
+	 * @param contentProvider
+	 *            the content provider of the viewer
+	 * @param labelProvider
+	 *            the label provider of the viewer
+	 * @return the snapshot
+	 */
+	/* package */ PatternFilterSnapshot getSnapshot(Object input, ITreeContentProvider contentProvider,
+			ILabelProvider labelProvider) {
+		PatternFilterSnapshot result = snapshot;
+		if (result == null) {
+			int generation = getContentGeneration();
+			result = PatternFilterSnapshot.create(input, contentProvider, labelProvider);
+			synchronized (this) {
+				if (generation == contentGeneration) {
+					snapshot = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Stops using snapshots, for providers that failed outside of the UI
+	 * thread.
+	 */
+	/* package */ void disableSnapshot() {
+		snapshotSupported = Boolean.FALSE;
+		clearSnapshot();
+	}
+
+	/**
+	 * Sets the visibility of the elements computed from the snapshot for the
+	 * given pattern string. It is used until the pattern or the content
+	 * changes. Must be called in the UI thread.
+	 */
+	/* package */ void setVisibility(String patternString, Map<Object, Boolean> visibility) {
+		this.visibilityPattern = patternString;
+		this.visibility = visibility;
+	}
+
+	/**
+	 * Subclasses that override how elements are matched are filtered through
+	 * the viewer only, as their overrides may need the UI thread.
+	 */
+	private boolean supportsSnapshot() {
+		if (snapshotSupported == null) {
+			snapshotSupported = Boolean.valueOf(isInherited("isElementVisible", Viewer.class, Object.class) //$NON-NLS-1$
+					&& isInherited("isParentMatch", Viewer.class, Object.class) //$NON-NLS-1$
+					&& isInherited("isLeafMatch", Viewer.class, Object.class) //$NON-NLS-1$
+					&& isInherited("wordMatches", String.class)); //$NON-NLS-1$
+		}
+		return snapshotSupported.booleanValue();
+	}
+
+	private boolean isInherited(String name, Class<?>... parameterTypes) {
+		for (Class<?> c = getClass(); c != PatternFilter.class; c = c.getSuperclass()) {
+			try {
+				c.getDeclaredMethod(name, parameterTypes);
+				return false;
+			} catch (NoSuchMethodException e) {
+				// not overridden here, check the superclass
+			} catch (SecurityException e) {
+				return false;
+			}
+		}
+		return true;
 	}
 
     /**
      * Answers whether the given String matches the pattern.
      *
+     * @param matcher the matcher, <code>null</code> matches everything
      * @param string the String to test
      *
      * @return whether the string matches the pattern
      */
-    private boolean match(String string) {
+    private static boolean match(StringMatcher matcher, String string) {
     	if (matcher == null) {
 			return true;
 		}
@@ -235,6 +387,13 @@ public class PatternFilter extends ViewerFilter {
      * @return true if the element matches the filter pattern
      */
     public boolean isElementVisible(Viewer viewer, Object element){
+		Map<Object, Boolean> computed = visibility;
+		if (computed != null) {
+			Boolean visible = computed.get(element);
+			if (visible != null) {
+				return visible.booleanValue();
+			}
+		}
     	return isParentMatch(viewer, element) || isLeafMatch(viewer, element);
     }
 
@@ -289,19 +448,27 @@ public class PatternFilter extends ViewerFilter {
 	 * 					satisifes the match criteria.
 	 */
 	protected boolean wordMatches(String text) {
+		return wordMatches(matcher, text);
+	}
+
+	/**
+	 * Implementation of {@link #wordMatches(String)} for the given matcher,
+	 * used to match snapshots off the UI thread.
+	 */
+	/* package */ static boolean wordMatches(StringMatcher matcher, String text) {
 		if (text == null) {
 			return false;
 		}
 
 		//If the whole text matches we are all set
-		if(match(text)) {
+		if(match(matcher, text)) {
 			return true;
 		}
 
 		// Otherwise check if any of the words of the text matches
 		String[] words = StringMatcher.getWords(text);
 		for (String word : words) {
-			if (!match(word)) {
+			if (!match(matcher, word)) {
 				return false;
 			}
 		}
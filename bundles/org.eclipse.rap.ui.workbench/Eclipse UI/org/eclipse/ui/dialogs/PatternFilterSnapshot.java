@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.dialogs;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jface.viewers.ILabelProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.ui.internal.misc.StringMatcher;
+
+/**
+ * An immutable copy of the elements, children and labels of a tree viewer, as
+ * seen by the default implementation of {@link PatternFilter}. A snapshot is
+ * taken once through the providers and can then be matched against any number
+ * of patterns from any thread, see
+ * {@link #computeVisibility(StringMatcher, IProgressMonitor)}.
+ */
+final class PatternFilterSnapshot {
+
+	/**
+	 * Subtrees with fewer nodes than this are matched in the current task.
+	 */
+	private static final int PARALLEL_THRESHOLD = 256;
+
+	private static final Node[] NO_NODES = new Node[0];
+
+	private static final class Node {
+		final Object element;
+		final String label;
+		final int size;
+		final Node[] children;
+
+		Node(Object element, String label, Node[] children) {
+			this.element = element;
+			this.label = label;
+			this.children = children;
+			int s = 1;
+			for (Node child : children) {
+				s += child.size;
+			}
+			this.size = s;
+		}
+	}
+
+	private final Node[] roots;
+
+	private final int size;
+
+	private PatternFilterSnapshot(Node[] roots) {
+		this.roots = roots;
+		int s = 0;
+		for (Node root : roots) {
+			s += root.size;
+		}
+		this.size = s;
+	}
+
+	/**
+	 * Takes a snapshot of a viewer's content.
+	 *
+	 * @param input
+	 *            the input of the viewer
+	 * @param contentProvider
+	 *            the content provider of the viewer
+	 * @param labelProvider
+	 *            the label provider of the viewer
+	 * @return the snapshot
+	 */
+	static PatternFilterSnapshot create(Object input, ITreeContentProvider contentProvider,
+			ILabelProvider labelProvider) {
+		Object[] elements = contentProvider.getElements(input);
+		return new PatternFilterSnapshot(createNodes(contentProvider, labelProvider, elements,
+				new IdentityHashMap<>()));
+	}
+
+	private static Node[] createNodes(ITreeContentProvider contentProvider, ILabelProvider labelProvider,
+			Object[] elements, Map<Object, Object> path) {
+		if (elements == null || elements.length == 0) {
+			return NO_NODES;
+		}
+		List<Node> nodes = new ArrayList<>(elements.length);
+		for (Object element : elements) {
+			// guard against content providers returning cycles
+			if (element == null || path.put(element, element) != null) {
+				continue;
+			}
+			Node[] children = createNodes(contentProvider, labelProvider, contentProvider.getChildren(element),
+					path);
+			path.remove(element);
+			nodes.add(new Node(element, labelProvider.getText(element), children));
+		}
+		return nodes.toArray(new Node[nodes.size()]);
+	}
+
+	/**
+	 * Computes the visibility of every element of this snapshot for the given
+	 * matcher. An element is visible if its label matches or if any of its
+	 * children is visible. Subtrees are matched in parallel.
+	 *
+	 * @param matcher
+	 *            the matcher created by {@link PatternFilter#createMatcher(String)}
+	 * @param monitor
+	 *            checked for cancellation
+	 * @return the visibility of all elements
+	 * @throws OperationCanceledException
+	 *             if the monitor was canceled
+	 */
+	Map<Object, Boolean> computeVisibility(StringMatcher matcher, IProgressMonitor monitor) {
+		Map<Object, Boolean> visibility = new ConcurrentHashMap<>(size * 4 / 3 + 1);
+		ForkJoinPool.commonPool().invoke(new MatchTask(matcher, roots, visibility, monitor));
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		return visibility;
+	}
+
+	private static final class MatchTask extends RecursiveTask<Boolean> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient StringMatcher matcher;
+		private final transient Node[] nodes;
+		private final transient Map<Object, Boolean> visibility;
+		private final transient IProgressMonitor monitor;
+
+		MatchTask(StringMatcher matcher, Node[] nodes, Map<Object, Boolean> visibility,
+				IProgressMonitor monitor) {
+			this.matcher = matcher;
+			this.nodes = nodes;
+			this.visibility = visibility;
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected Boolean compute() {
+			boolean anyVisible = false;
+			List<MatchTask> forked = null;
+			for (Node node : nodes) {
+				if (monitor.isCanceled()) {
+					return Boolean.FALSE;
+				}
+				if (node.size >= PARALLEL_THRESHOLD && nodes.length > 1) {
+					MatchTask task = new MatchTask(matcher, new Node[] { node }, visibility, monitor);
+					task.fork();
+					if (forked == null) {
+						forked = new ArrayList<>();
+					}
+					forked.add(task);
+				} else {
+					anyVisible |= match(node);
+				}
+			}
+			if (forked != null) {
+				for (MatchTask task : forked) {
+					anyVisible |= task.join().booleanValue();
+				}
+			}
+			return Boolean.valueOf(anyVisible);
+		}
+
+		private boolean match(Node node) {
+			boolean visible = false;
+			if (node.children.length > 0) {
+				if (node.size >= PARALLEL_THRESHOLD && node.children.length > 1) {
+					visible = new MatchTask(matcher, node.children, visibility, monitor).compute().booleanValue();
+				} else {
+					for (Node child : node.children) {
+						visible |= match(child);
+					}
+				}
+			}
+			if (!visible && node.label != null) {
+				visible = PatternFilter.wordMatches(matcher, node.label);
+			}
+			visibility.put(node.element, Boolean.valueOf(visible));
+			return visible;
+		}
+	}
+}
@@ -98,6 +98,18 @@ public class SearchPattern {
 
 	private StringMatcher stringMatcher;
 
+	/*
+	 * Compiled form of stringPattern, computed once in setPattern so that
+	 * matches(String) does not re-derive it for every candidate.
+	 */
+	private char[] patternChars;
+
+	private char[] lowerCasePatternChars;
+
+	private boolean[] camelCaseUpperChars;
+
+	private int camelCasePatternLength;
+
 	private static final char END_SYMBOL = '<';
 
 	private static final char ANY_STRING = '*';
@@ -162,6 +174,25 @@ public class SearchPattern {
 		if (matchRule == RULE_PATTERN_MATCH) {
 			stringMatcher = new StringMatcher(this.stringPattern, true, false);
 		}
+		compilePattern();
+	}
+
+	/**
+	 * Precomputes the case-folded characters used by the prefix rule and the
+	 * per-character tables used by the camel case rule.
+	 */
+	private void compilePattern() {
+		int length = stringPattern.length();
+		patternChars = stringPattern.toCharArray();
+		lowerCasePatternChars = new char[length];
+		camelCaseUpperChars = new boolean[length];
+		for (int i = 0; i < length; i++) {
+			lowerCasePatternChars[i] = Character.toLowerCase(patternChars[i]);
+			camelCaseUpperChars[i] = isPatternCharAllowed(patternChars[i]);
+		}
+		camelCasePatternLength = length;
+		if (length > 0 && (patternChars[length - 1] == END_SYMBOL || patternChars[length - 1] == BLANK))
+			camelCasePatternLength = length - 1;
 	}
 
 	/**
@@ -179,12 +210,12 @@ public class SearchPattern {
 		case RULE_EXACT_MATCH:
 			return stringPattern.equalsIgnoreCase(text);
 		case RULE_CAMELCASE_MATCH:
-			if (camelCaseMatch(stringPattern, text)) {
+			if (camelCaseMatch(text)) {
 				return true;
 			}
 			//$FALL-THROUGH$
 			default:
-			return startsWithIgnoreCase(text, stringPattern);
+			return startsWithIgnoreCase(text);
 		}
 	}
 
@@ -232,18 +263,16 @@ public class SearchPattern {
 
 	/**
 	 * @param text
-	 * @param prefix
-	 * @return true if text starts with given prefix, ignoring case false in
+	 * @return true if text starts with the pattern, ignoring case false in
 	 *         other way
 	 */
-	private boolean startsWithIgnoreCase(String text, String prefix) {
-		int textLength = text.length();
-		int prefixLength = prefix.length();
-		if (textLength < prefixLength)
+	private boolean startsWithIgnoreCase(String text) {
+		char[] prefix = lowerCasePatternChars;
+		int prefixLength = prefix.length;
+		if (text.length() < prefixLength)
 			return false;
 		for (int i = prefixLength - 1; i >= 0; i--) {
-			if (Character.toLowerCase(prefix.charAt(i)) != Character
-					.toLowerCase(text.charAt(i)))
+			if (prefix[i] != Character.toLowerCase(text.charAt(i)))
 				return false;
 		}
 		return true;
@@ -299,21 +328,16 @@ public class SearchPattern {
 	 * </li>
 	 * </ol>
 	 *
-	 * @param pattern
-	 *            the given pattern
 	 * @param name
 	 *            the given name
 	 * @return true if the pattern matches the given name, false otherwise
 	 *
 	 */
-	private boolean camelCaseMatch(String pattern, String name) {
-		if (pattern == null)
-			return true; // null pattern is equivalent to '*'
+	private boolean camelCaseMatch(String name) {
 		if (name == null)
 			return false; // null name cannot match
 
-		return camelCaseMatch(pattern, 0, pattern.length(), name, 0, name
-				.length());
+		return camelCaseMatch(0, patternChars.length, name, 0, name.length());
 	}
 
 	/**
@@ -407,8 +431,6 @@ public class SearchPattern {
 	 * </li>
 	 * </ol>
 	 *
-	 * @param pattern
-	 *            the given pattern
 	 * @param patternStart
 	 *            the start index of the pattern, inclusive
 	 * @param patternEnd
@@ -422,14 +444,13 @@ public class SearchPattern {
 	 * @return true if a sub-pattern matches the subpart of the given name,
 	 *         false otherwise
 	 */
-	private boolean camelCaseMatch(String pattern, int patternStart,
-			int patternEnd, String name, int nameStart, int nameEnd) {
+	private boolean camelCaseMatch(int patternStart, int patternEnd,
+			String name, int nameStart, int nameEnd) {
 		if (name == null)
 			return false; // null name cannot match
-		if (pattern == null)
-			return true; // null pattern is equivalent to '*'
+		char[] pattern = patternChars;
 		if (patternEnd < 0)
-			patternEnd = pattern.length();
+			patternEnd = pattern.length;
 		if (nameEnd < 0)
 			nameEnd = name.length();
 
@@ -438,15 +459,12 @@ public class SearchPattern {
 		if (nameEnd <= nameStart)
 			return false;
 		// check first pattern char
-		if (name.charAt(nameStart) != pattern.charAt(patternStart)) {
+		if (name.charAt(nameStart) != pattern[patternStart]) {
 			// first char must strictly match (upper/lower)
 			return false;
 		}
 
-		int patternLength = patternEnd;
-
-		if (pattern.charAt(patternEnd - 1) == END_SYMBOL || pattern.charAt(patternEnd - 1) == BLANK )
-			patternLength = patternEnd - 1;
+		int patternLength = patternEnd == pattern.length ? camelCasePatternLength : patternEnd;
 
 
 		char patternChar, nameChar;
@@ -473,13 +491,13 @@ public class SearchPattern {
 
 			// For as long as we're exactly matching, bring it on (even if it's
 			// a lower case character)
-			if ((patternChar = pattern.charAt(iPattern)) == name.charAt(iName)) {
+			if ((patternChar = pattern[iPattern]) == name.charAt(iName)) {
 				continue;
 			}
 
 			// If characters are not equals, then it's not a match if
 			// patternChar is lowercase
-			if (!isPatternCharAllowed(patternChar))
+			if (!camelCaseUpperChars[iPattern])
 				return false;
 
 			// patternChar is uppercase, so let's find the next uppercase in
@@ -89,6 +89,11 @@ public abstract class AbstractWorkingSetManager extends EventManager implements
 
 	private SortedSet<AbstractWorkingSet> workingSets = new TreeSet<>((o1, o2) -> o1.getUniqueId().compareTo(o2.getUniqueId()));
 
+	/**
+	 * The working sets by name, see {@link #getWorkingSet(String)}.
+	 */
+	private WorkingSetNameIndex workingSetsByName = new WorkingSetNameIndex(workingSets);
+
 	private List<IWorkingSet> recentWorkingSets = new ArrayList<>();
 
 	private BundleContext bundleContext;
@@ -224,6 +229,7 @@ public abstract class AbstractWorkingSetManager extends EventManager implements
     private void internalAddWorkingSet(IWorkingSet workingSet) {
 		AbstractWorkingSet abstractWorkingSet = (AbstractWorkingSet) workingSet;
 		workingSets.add(abstractWorkingSet);
+		workingSetsByName.added(workingSet);
 		abstractWorkingSet.connect(this);
 		addToUpdater(workingSet);
 		firePropertyChange(CHANGE_WORKING_SET_ADD, null, workingSet);
@@ -234,6 +240,7 @@ public abstract class AbstractWorkingSetManager extends EventManager implements
         boolean recentWorkingSetRemoved = recentWorkingSets.remove(workingSet);
 
         if (workingSetRemoved) {
+        	workingSetsByName.removed(workingSet);
         	((AbstractWorkingSet)workingSet).disconnect();
         	removeFromUpdater(workingSet);
             firePropertyChange(CHANGE_WORKING_SET_REMOVE, workingSet, null);
@@ -265,13 +272,7 @@ public abstract class AbstractWorkingSetManager extends EventManager implements
 			return null;
 		}
 
-		for (IWorkingSet workingSet : workingSets) {
-			if (name.equals(workingSet.getName())) {
-				return workingSet;
-			}
-		}
-
-		return null;
+		return workingSetsByName.get(name);
 	}
 
     // ---- recent working set management --------------------------------------
@@ -407,6 +408,9 @@ public abstract class AbstractWorkingSetManager extends EventManager implements
 	 */
 	public void workingSetChanged(IWorkingSet changedWorkingSet,
 			String propertyChangeId, Object oldValue) {
+		if (CHANGE_WORKING_SET_NAME_CHANGE.equals(propertyChangeId) && oldValue instanceof IWorkingSet) {
+			workingSetsByName.renamed(changedWorkingSet, ((IWorkingSet) oldValue).getName());
+		}
 		firePropertyChange(propertyChangeId, oldValue, changedWorkingSet);
 	}
 
@@ -66,6 +66,17 @@ public class ActionExpression {
 		 */
 		public abstract boolean isEnabledFor(Object object);
 
+		/**
+		 * Returns whether the result of {@link #isEnabledFor(Object)} only
+		 * depends on the class of the object, i.e. whether the expression is
+		 * made of object class tests only.
+		 *
+		 * @return boolean whether the expression only tests the object class
+		 */
+		public boolean isTypeExpression() {
+			return false;
+		}
+
 		/**
 		 * Returns whether or not the receiver is potentially valid for the
 		 * object via just the extension type. Currently the only supported
@@ -202,6 +213,16 @@ public class ActionExpression {
 			return returnValue;
 		}
 
+		@Override
+		public boolean isTypeExpression() {
+			for (int i = 0; i < list.size(); i++) {
+				if (!((AbstractExpression) list.get(i)).isTypeExpression()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 		/**
 		 * Computes the hash code for this object based on the id.
 		 *
@@ -356,6 +377,11 @@ public class ActionExpression {
 			return new String[] { className };
 		}
 
+		@Override
+		public boolean isTypeExpression() {
+			return true;
+		}
+
 		/**
 		 * Computes the hash code for this object based on the id.
 		 *
@@ -698,6 +724,11 @@ public class ActionExpression {
 			return child.extractObjectClasses();
 		}
 
+		@Override
+		public boolean isTypeExpression() {
+			return child.isTypeExpression();
+		}
+
 		/**
 		 * Computes the hash code for this object based on the id.
 		 *
@@ -1025,6 +1056,18 @@ public class ActionExpression {
 		return root.isEnabledFor(object);
 	}
 
+	/**
+	 * Returns whether the result of {@link #isEnabledFor(Object)} only depends
+	 * on the class of the object. This allows clients (e.g. the decorator
+	 * manager) to evaluate the expression once per class instead of once per
+	 * object.
+	 *
+	 * @return boolean whether the expression only tests the object class
+	 */
+	public boolean isTypeExpression() {
+		return root == null || root.isTypeExpression();
+	}
+
 	/**
 	 * Returns whether or not the receiver is potentially valid for the object
 	 * via just the extension type. Currently the only supported expression type
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.ui.IPropertyListener;
 import org.eclipse.ui.contexts.IContextActivation;
 import org.eclipse.ui.contexts.IContextService;
+import org.eclipse.ui.internal.menus.LegacyActionPersistence;
 import org.eclipse.ui.internal.registry.IActionSetDescriptor;
 import org.eclipse.ui.services.IServiceLocator;
 
@@ -71,9 +72,11 @@ public class ActionSetManager {
 	private IPropertyListener contextListener;
 	private Map activationsById = new HashMap();
 	private IContextService contextService;
+	private LegacyActionPersistence actionPersistence;
 
     public ActionSetManager(IServiceLocator locator) {
     	contextService = locator.getService(IContextService.class);
+		actionPersistence = locator.getService(LegacyActionPersistence.class);
 		addListener(getContextListener());
     }
 
@@ -87,6 +90,10 @@ public class ActionSetManager {
 					IActionSetDescriptor desc = (IActionSetDescriptor) source;
 					String id = desc.getId();
 					if (propId == PROP_VISIBLE) {
+						// read the actions before their handlers can become active
+						if (actionPersistence != null) {
+							actionPersistence.readActionSet(id);
+						}
 						activationsById.put(id, contextService
 								.activateContext(id));
 					} else if (propId == PROP_HIDDEN) {
@@ -20,9 +20,13 @@
 package org.eclipse.ui.internal;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.OpaqueElementUtil;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
@@ -36,6 +40,7 @@ import org.eclipse.e4.ui.model.application.ui.menu.MToolBarElement;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBarSeparator;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MTrimContribution;
+import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.e4.ui.workbench.renderers.swt.HandledContributionItem;
 import org.eclipse.e4.ui.workbench.renderers.swt.ToolBarManagerRenderer;
@@ -60,6 +65,7 @@ import org.eclipse.ui.IWorkbenchActionConstants;
 import org.eclipse.ui.internal.menus.ActionSet;
 import org.eclipse.ui.internal.menus.MenuHelper;
 import org.eclipse.ui.menus.CommandContributionItem;
+import org.osgi.service.event.EventHandler;
 
 /**
  * @since 3.5
@@ -108,6 +114,24 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 	private boolean trimBarsAdded;
 	private EModelService modelService;
 
+	/**
+	 * All tool bars of the window in model order, and the same tool bars by
+	 * id. Built on the first lookup with a single walk of the window model and
+	 * dropped whenever the model structure changes, see
+	 * {@link #findToolBars(String)}. <code>null</code> if not built.
+	 */
+	private List<MToolBar> toolBars;
+	private Map<String, List<MToolBar>> toolBarsById;
+
+	/**
+	 * The result of {@link #getItems()}, kept until the tool bars change.
+	 * <code>null</code> if not computed.
+	 */
+	private IContributionItem[] items;
+
+	private IEventBroker eventBroker;
+	private final EventHandler modelChangeHandler = event -> clearToolBars();
+
 	public CoolBarToTrimManager(MApplication app, MTrimmedWindow window,
 			List<MTrimElement> workbenchTrimElements, IRendererFactory rf) {
 		application = app;
@@ -125,6 +149,48 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 		topTrim.setToBeRendered(false);
 		MToolBar mToolBar = modelService.createModelElement(MToolBar.class);
 		renderer = (ToolBarManagerRenderer) rendererFactory.getRenderer(mToolBar, null);
+
+		eventBroker = window.getContext().get(IEventBroker.class);
+		eventBroker.subscribe(UIEvents.ElementContainer.TOPIC_CHILDREN, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.ApplicationElement.TOPIC_ELEMENTID, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.TrimmedWindow.TOPIC_TRIMBARS, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.Window.TOPIC_WINDOWS, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.Window.TOPIC_SHAREDELEMENTS, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.Perspective.TOPIC_WINDOWS, modelChangeHandler);
+		eventBroker.subscribe(UIEvents.Part.TOPIC_TOOLBAR, modelChangeHandler);
+	}
+
+	/**
+	 * Return the tool bars of the window with the given id, in the order of
+	 * {@link EModelService#findElements(MUIElement, String, Class, List)}.
+	 * The tool bars are indexed once and reused until the model changes, so
+	 * consecutive lookups do not walk the window model again.
+	 *
+	 * @param id
+	 *            the id of the tool bars, or <code>null</code> for all of them
+	 * @return the tool bars, must not be modified
+	 */
+	private List<MToolBar> findToolBars(String id) {
+		if (toolBars == null) {
+			List<MToolBar> all = modelService.findElements(window, null, MToolBar.class, null);
+			Map<String, List<MToolBar>> byId = new HashMap<>();
+			for (MToolBar toolBar : all) {
+				byId.computeIfAbsent(toolBar.getElementId(), key -> new ArrayList<>(1)).add(toolBar);
+			}
+			toolBarsById = byId;
+			toolBars = all;
+		}
+		if (id == null) {
+			return toolBars;
+		}
+		List<MToolBar> result = toolBarsById.get(id);
+		return result == null ? Collections.emptyList() : result;
+	}
+
+	private void clearToolBars() {
+		toolBars = null;
+		toolBarsById = null;
+		items = null;
 	}
 
 	@Override
@@ -199,7 +265,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 			separator.setToBeRendered(false);
 			separator.setElementId(item.getId());
 
-			List<MToolBar> toolbars = modelService.findElements(window, item.getId(), MToolBar.class, null);
+			List<MToolBar> toolbars = findToolBars(item.getId());
 			MToolBar toolBar = toolbars.isEmpty() ? null : toolbars.get(0);
 			boolean tbFound = toolBar != null;
 			if (!tbFound) {
@@ -284,7 +350,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public void appendToGroup(String groupName, IContributionItem item) {
-		List<MToolBar> toolBars = modelService.findElements(window, groupName, MToolBar.class, null);
+		List<MToolBar> toolBars = findToolBars(groupName);
 		if (toolBars.size() == 1) {
 			MToolBar el = toolBars.get(0);
 			MTrimBar trimBar = getTrim(el);
@@ -303,6 +369,11 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public void dispose() {
+		if (eventBroker != null) {
+			eventBroker.unsubscribe(modelChangeHandler);
+			eventBroker = null;
+			clearToolBars();
+		}
 		if (renderer == null) {
 			return;
 		}
@@ -350,7 +421,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public IContributionItem find(String id) {
-		List<MToolBar> toolbars = modelService.findElements(window, id, MToolBar.class, null);
+		List<MToolBar> toolbars = findToolBars(id);
 		if (toolbars.isEmpty()) {
 			return null;
 		}
@@ -388,10 +459,14 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public IContributionItem[] getItems() {
+		if (items != null) {
+			return items.clone();
+		}
 		ArrayList<IContributionItem> items = new ArrayList<>();
+		// tool bars that are not rendered yet get an item once they are
+		boolean complete = true;
 
-		List<MToolBar> toolBars = modelService.findElements(window, null, MToolBar.class, null);
-		for (final MToolBar tb : toolBars) {
+		for (final MToolBar tb : findToolBars(null)) {
 			if (tb.getTransientData().get(OBJECT) != null) {
 				items.add((IContributionItem) tb.getTransientData().get(OBJECT));
 			} else {
@@ -408,11 +483,18 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 						items.add((IContributionItem) tb.getTransientData().get(OBJECT));
 					}
 					items.add(new GroupMarker(tb.getElementId()));
+				} else {
+					complete = false;
 				}
 			}
 		}
 
-		return items.toArray(new IContributionItem[items.size()]);
+		IContributionItem[] result = items.toArray(new IContributionItem[items.size()]);
+		if (complete && eventBroker != null) {
+			this.items = result;
+			return result.clone();
+		}
+		return result;
 	}
 
 	@Override
@@ -445,7 +527,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 	}
 
 	private MToolBar getToolBar(String id) {
-		List<MToolBar> toolbars = modelService.findElements(window, id, MToolBar.class, null);
+		List<MToolBar> toolbars = findToolBars(id);
 		if (toolbars.size() == 1) {
 			return toolbars.get(0);
 		}
@@ -519,7 +601,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public IContributionItem remove(IContributionItem item) {
-		final List<MToolBar> children = modelService.findElements(window, null, MToolBar.class, null);
+		final List<MToolBar> children = findToolBars(null);
 		for (int i = 0; i < children.size(); i++) {
 			final MToolBar child = children.get(i);
 			final Object obj = child.getTransientData().get(OBJECT);
@@ -586,7 +668,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 
 	@Override
 	public void update(boolean force) {
-		final List<MToolBar> children = modelService.findElements(window, null, MToolBar.class, null);
+		final List<MToolBar> children = findToolBars(null);
 
 		for (MToolBar el : children) {
 			ToolBarManagerRenderer renderer = (ToolBarManagerRenderer) rendererFactory.getRenderer(el, null);
@@ -625,7 +707,7 @@ public class CoolBarToTrimManager extends ContributionManager implements ICoolBa
 	 * @param force
 	 */
 	public void updateAll(boolean force) {
-		final List<MToolBar> children = modelService.findElements(window, null, MToolBar.class, null);
+		final List<MToolBar> children = findToolBars(null);
 		for (MToolBar mToolbar : children) {
 			if (mToolbar == null) {
 				continue;
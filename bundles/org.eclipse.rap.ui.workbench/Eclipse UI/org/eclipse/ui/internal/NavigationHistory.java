@@ -364,7 +364,7 @@ public class NavigationHistory implements INavigationHistory {
 		}
 
         NavigationHistoryEntry current = getEntry(activeEntry);
-        if (current != null && current.editorInfo.memento != null) {
+        if (current != null && current.editorInfo.mementoState != null) {
             current.editorInfo.restoreEditor();
             checkDuplicates(current.editorInfo);
         }
@@ -445,7 +445,7 @@ public class NavigationHistory implements INavigationHistory {
 		}
         try {
             ignoreEntries++;
-            if (entry.editorInfo.memento != null) {
+            if (entry.editorInfo.mementoState != null) {
                 entry.editorInfo.restoreEditor();
                 checkDuplicates(entry.editorInfo);
             }
@@ -744,7 +744,7 @@ public class NavigationHistory implements INavigationHistory {
 				perTabHistoryMap.put(tabCookie, perTabHistory);
 			}
 			NavigationHistoryEntry current = perTabHistory.currentEntry;
-			if (current != null && current.editorInfo.memento != null) {
+			if (current != null && current.editorInfo.mementoState != null) {
 				current.editorInfo.restoreEditor();
 				checkDuplicates(current.editorInfo);
 			}
@@ -796,7 +796,7 @@ public class NavigationHistory implements INavigationHistory {
 	    		perTabHistory.currentEntry = newCurrent;
 	            try {
 	                ignoreEntries++;
-	                if (newCurrent.editorInfo.memento != null) {
+	                if (newCurrent.editorInfo.mementoState != null) {
 	                	newCurrent.editorInfo.restoreEditor();
 	                	checkDuplicates(newCurrent.editorInfo);
 	                }
@@ -826,7 +826,7 @@ public class NavigationHistory implements INavigationHistory {
 	    		perTabHistory.currentEntry = newCurrent;
 	            try {
 	                ignoreEntries++;
-	                if (newCurrent.editorInfo.memento != null) {
+	                if (newCurrent.editorInfo.mementoState != null) {
 	                	newCurrent.editorInfo.restoreEditor();
 	                	checkDuplicates(newCurrent.editorInfo);
 	                }
@@ -853,7 +853,7 @@ public class NavigationHistory implements INavigationHistory {
 	    		perTabHistory.currentEntry = newCurrent;
 	            try {
 	                ignoreEntries++;
-	                if (newCurrent.editorInfo.memento != null) {
+	                if (newCurrent.editorInfo.mementoState != null) {
 	                	newCurrent.editorInfo.restoreEditor();
 	                	checkDuplicates(newCurrent.editorInfo);
 	                }
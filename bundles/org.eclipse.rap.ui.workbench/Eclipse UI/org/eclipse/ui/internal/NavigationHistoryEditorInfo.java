@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.ui.internal;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
@@ -20,12 +23,17 @@ import org.eclipse.ui.IElementFactory;
 import org.eclipse.ui.IMemento;
 import org.eclipse.ui.IPersistableElement;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.WorkbenchException;
 import org.eclipse.ui.XMLMemento;
 
 /**
  * Keeps the info to save, restore or identify and editor.
  * Instances of this class are shared between history entries and there should be
  * only one instance making reference to the same editor.
+ * <p>
+ * The state of closed editors is kept in its serialized form and only parsed
+ * when the editor is restored, as the history may keep many of them.
+ * </p>
  */
 public class NavigationHistoryEditorInfo {
     String editorID;
@@ -34,7 +42,7 @@ public class NavigationHistoryEditorInfo {
 
     int refCount = 0;
 
-    IMemento memento;
+    String mementoState;
 
     NavigationHistoryEditorInfo(IEditorPart part) {
         editorID = part.getSite().getId();
@@ -42,7 +50,38 @@ public class NavigationHistoryEditorInfo {
     }
 
     NavigationHistoryEditorInfo(IMemento memento) {
-        this.memento = memento;
+        this.mementoState = toState(memento);
+    }
+
+    /**
+     * Returns the serialized form of the given memento, or <code>null</code>
+     * if it cannot be serialized.
+     */
+    static String toState(IMemento memento) {
+        if (!(memento instanceof XMLMemento)) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try {
+            ((XMLMemento) memento).save(writer);
+        } catch (IOException e) {
+            WorkbenchPlugin.log(e);
+            return null;
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Returns a memento for the given serialized form, or <code>null</code> if
+     * it cannot be read.
+     */
+    static IMemento fromState(String state) {
+        try {
+            return XMLMemento.createReadRoot(new StringReader(state));
+        } catch (WorkbenchException e) {
+            WorkbenchPlugin.log(e);
+            return null;
+        }
     }
 
     boolean isPersistable() {
@@ -50,30 +89,36 @@ public class NavigationHistoryEditorInfo {
             IPersistableElement persistable = editorInput.getPersistable();
             return persistable != null;
         }
-        return memento != null;
+        return mementoState != null;
     }
 
     void handlePartClosed() {
         if (!isPersistable()) {
 			return;
 		}
-        if (memento == null) {
+        if (mementoState == null) {
             IPersistableElement persistable = editorInput.getPersistable();
-            memento = XMLMemento
+            XMLMemento memento = XMLMemento
                     .createWriteRoot(IWorkbenchConstants.TAG_EDITOR);
             memento.putString(IWorkbenchConstants.TAG_ID, editorID);
             memento.putString(IWorkbenchConstants.TAG_FACTORY_ID, persistable
                     .getFactoryId());
             persistable.saveState(memento);
+            mementoState = toState(memento);
         }
         editorID = null;
         editorInput = null;
     }
 
     void restoreEditor() {
-        if (memento == null) {
+        if (mementoState == null) {
 			return;
 		}
+        IMemento memento = fromState(mementoState);
+        mementoState = null;
+        if (memento == null) {
+            return;
+        }
         String factoryID = memento
                 .getString(IWorkbenchConstants.TAG_FACTORY_ID);
         IElementFactory factory = PlatformUI.getWorkbench().getElementFactory(
@@ -85,7 +130,6 @@ public class NavigationHistoryEditorInfo {
                 editorID = memento.getString(IWorkbenchConstants.TAG_ID);
             }
         }
-        memento = null;
     }
 
     void saveState(IMemento mem) {
@@ -95,8 +139,11 @@ public class NavigationHistoryEditorInfo {
             mem.putString(IWorkbenchConstants.TAG_FACTORY_ID, persistable
                     .getFactoryId());
             persistable.saveState(mem);
-        } else if (memento != null) {
-            mem.putMemento(memento);
+        } else if (mementoState != null) {
+            IMemento memento = fromState(mementoState);
+            if (memento != null) {
+                mem.putMemento(memento);
+            }
         }
     }
 }
@@ -37,7 +37,8 @@ public class NavigationHistoryEntry {
     /* Both may be set at the same time. */
     INavigationLocation location;
 
-    private IMemento locationMemento;
+    /* The serialized state of the location, see NavigationHistoryEditorInfo#toState */
+    private String locationState;
 
     /**
      * Constructs a new HistoryEntry and intializes its editor input and editor id.
@@ -75,10 +76,13 @@ public class NavigationHistoryEntry {
                 }
 
                 if (location != null) {
-                    if (locationMemento != null) {
-                        location.setInput(editorInfo.editorInput);
-                        location.restoreState(locationMemento);
-                        locationMemento = null;
+                    if (locationState != null) {
+                        IMemento locationMemento = NavigationHistoryEditorInfo.fromState(locationState);
+                        locationState = null;
+                        if (locationMemento != null) {
+                            location.setInput(editorInfo.editorInput);
+                            location.restoreState(locationMemento);
+                        }
                     }
                     location.restoreLocation();
                 }
@@ -118,10 +122,11 @@ public class NavigationHistoryEntry {
 			return false;
 		}
         if (location != null) {
-            locationMemento = XMLMemento
+            XMLMemento locationMemento = XMLMemento
                     .createWriteRoot(IWorkbenchConstants.TAG_POSITION);
             location.saveState(locationMemento);
             location.releaseState();
+            locationState = NavigationHistoryEditorInfo.toState(locationMemento);
         }
         return true;
     }
@@ -131,10 +136,13 @@ public class NavigationHistoryEntry {
      */
     void saveState(IMemento mem, ArrayList entries) {
         mem.putString(IWorkbenchConstants.TAG_HISTORY_LABEL, getHistoryText());
-        if (locationMemento != null) {
-            IMemento childMem = mem
-                    .createChild(IWorkbenchConstants.TAG_POSITION);
-            childMem.putMemento(locationMemento);
+        if (locationState != null) {
+            IMemento locationMemento = NavigationHistoryEditorInfo.fromState(locationState);
+            if (locationMemento != null) {
+                IMemento childMem = mem
+                        .createChild(IWorkbenchConstants.TAG_POSITION);
+                childMem.putMemento(locationMemento);
+            }
         } else if (location != null) {
             IMemento childMem = mem
                     .createChild(IWorkbenchConstants.TAG_POSITION);
@@ -147,7 +155,11 @@ public class NavigationHistoryEntry {
      */
     void restoreState(IMemento mem) {
         historyText = mem.getString(IWorkbenchConstants.TAG_HISTORY_LABEL);
-        locationMemento = mem.getChild(IWorkbenchConstants.TAG_POSITION);
+        // keep the serialized form only, so that the restored workbench
+        // memento is not kept reachable through the history
+        IMemento locationMemento = mem.getChild(IWorkbenchConstants.TAG_POSITION);
+        locationState = locationMemento == null ? null
+                : NavigationHistoryEditorInfo.toState(locationMemento);
     }
 
     @Override
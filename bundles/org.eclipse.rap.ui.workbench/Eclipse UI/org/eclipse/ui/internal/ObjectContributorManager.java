@@ -75,6 +75,46 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 		IObjectContributor contributor;
 	}
 
+	/**
+	 * The search orders of a class as defined in this class' comment. They
+	 * only depend on the class, so they are computed once and shared by all
+	 * managers of all sessions. The lists are unmodifiable.
+	 */
+	private static final class SearchOrder {
+
+		final List classOrder;
+
+		final List interfaceOrder;
+
+		final List combinedOrder;
+
+		SearchOrder(Class inputClass) {
+			List classes = new ArrayList(4);
+			List combined = new ArrayList(4);
+			Class clazz = inputClass;
+			while (clazz != null) {
+				classes.add(clazz);
+				combined.add(clazz);
+				combined.addAll(Arrays.asList(clazz.getInterfaces()));
+				clazz = clazz.getSuperclass();
+			}
+			classOrder = Collections.unmodifiableList(classes);
+			interfaceOrder = Collections.unmodifiableList(internalComputeInterfaceOrder(classes));
+			combinedOrder = Collections.unmodifiableList(combined);
+		}
+	}
+
+	/**
+	 * The search orders by class. A class value does not prevent the classes
+	 * of a bundle from being unloaded.
+	 */
+	private static final ClassValue<SearchOrder> SEARCH_ORDERS = new ClassValue<SearchOrder>() {
+		@Override
+		protected SearchOrder computeValue(Class<?> type) {
+			return new SearchOrder(type);
+		}
+	};
+
     /** Table of contributors. */
     protected Map contributors;
 
@@ -137,16 +177,20 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 
     /**
      * Returns the class search order starting with <code>extensibleClass</code>.
-     * The search order is defined in this class' comment.
+     * The search order is defined in this class' comment. The returned list
+     * is shared and cannot be modified.
      */
     protected final List computeClassOrder(Class extensibleClass) {
-        ArrayList result = new ArrayList(4);
-        Class clazz = extensibleClass;
-        while (clazz != null) {
-            result.add(clazz);
-            clazz = clazz.getSuperclass();
-        }
-        return result;
+        return SEARCH_ORDERS.get(extensibleClass).classOrder;
+    }
+
+    /**
+     * Returns the interface search order for the class hierarchy starting with
+     * <code>extensibleClass</code>. The returned list is shared and cannot be
+     * modified.
+     */
+    private static List computeInterfaceOrder(Class extensibleClass) {
+        return SEARCH_ORDERS.get(extensibleClass).interfaceOrder;
     }
 
     /**
@@ -155,6 +199,10 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      * The search order is defined in this class' comment.
      */
     protected final List computeInterfaceOrder(List classList) {
+        return internalComputeInterfaceOrder(classList);
+    }
+
+    private static List internalComputeInterfaceOrder(List classList) {
         ArrayList result = new ArrayList(4);
         Map seen = new HashMap(4);
         for (Iterator list = classList.iterator(); list.hasNext();) {
@@ -224,11 +272,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      */
     protected List addContributorsFor(Class objectClass) {
 
-        List classList = computeClassOrder(objectClass);
         List result = new ArrayList();
-        addContributorsFor(classList, result);
-        classList = computeInterfaceOrder(classList); // interfaces
-        addContributorsFor(classList, result);
+        addContributorsFor(computeClassOrder(objectClass), result);
+        addContributorsFor(computeInterfaceOrder(objectClass), result); // interfaces
         return result;
     }
 
@@ -251,7 +297,7 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
      * on the class hierarchy. Interfaces will be searched
      * based on their position in the result list.
      */
-    private void internalComputeInterfaceOrder(Class[] interfaces, List result,
+    private static void internalComputeInterfaceOrder(Class[] interfaces, List result,
             Map seen) {
         List newInterfaces = new ArrayList(seen.size());
         for (Class currentInterface : interfaces) {
@@ -519,23 +565,11 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 
 	/**
      * Returns the class search order starting with <code>extensibleClass</code>.
-     * The search order is defined in this class' comment.
+     * The search order is defined in this class' comment. The returned list
+     * is shared and cannot be modified.
      */
     protected List computeCombinedOrder(Class inputClass) {
-        List result = new ArrayList(4);
-        Class clazz = inputClass;
-        while (clazz != null) {
-            // add the class
-            result.add(clazz);
-            // add all the interfaces it implements
-            Class[] interfaces = clazz.getInterfaces();
-            for (Class currentInterface : interfaces) {
-                result.add(currentInterface);
-            }
-            // get the superclass
-            clazz = clazz.getSuperclass();
-        }
-        return result;
+        return SEARCH_ORDERS.get(inputClass).combinedOrder;
     }
 
 	private List filterOnlyAdaptableContributors(List contributors) {
@@ -688,9 +722,12 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 
         // Compute all the super classes, interfaces, and adapters
         // for the first element.
-        List classes = computeClassOrder(objects.get(0).getClass());
+        // The common classes and interfaces are pruned from copies of the
+        // shared search orders of the first element.
+        Class firstClass = objects.get(0).getClass();
+        List classes = new ArrayList(computeClassOrder(firstClass));
         List adapters = computeAdapterOrder(classes);
-        List interfaces = computeInterfaceOrder(classes);
+        List interfaces = new ArrayList(computeInterfaceOrder(firstClass));
 
         // Cache of all types found in the selection - this is needed
         // to compute common adapters.
@@ -702,14 +739,15 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
         // Traverse the selection if there is more than one element selected.
         for (int i = 1; i < objects.size(); i++) {
             // Compute all the super classes for the current element
-            List otherClasses = computeClassOrder(objects.get(i).getClass());
+            Class otherClass = objects.get(i).getClass();
+            List otherClasses = computeClassOrder(otherClass);
             if (!classesEmpty) {
                 classesEmpty = extractCommonClasses(classes, otherClasses);
             }
 
             // Compute all the interfaces for the current element
             // and all of its super classes.
-            List otherInterfaces = computeInterfaceOrder(otherClasses);
+            List otherInterfaces = computeInterfaceOrder(otherClass);
             if (!interfacesEmpty) {
                 interfacesEmpty = extractCommonClasses(interfaces,
                         otherInterfaces);
@@ -13,9 +13,17 @@
  *******************************************************************************/
 package org.eclipse.ui.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
 import org.eclipse.ui.IPageLayout;
@@ -24,6 +32,7 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.e4.compatibility.ModeledPageLayout;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.internal.registry.RegistryReader;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
 
 /**
  * A strategy to read perspective extension from the registry.
@@ -58,6 +67,26 @@ public class PerspectiveExtensionReader extends RegistryReader {
 
 	private IExtensionTracker tracker;
 
+	/**
+	 * The <code>perspectiveExtension</code> elements of the registry in
+	 * registry order, shared by all sessions. Discarded when the extensions of
+	 * the extension point change.
+	 */
+	private static List<IConfigurationElement> perspectiveExtensions;
+
+	/**
+	 * The <code>perspectiveExtension</code> elements that apply to a
+	 * perspective id, derived from {@link #perspectiveExtensions} and
+	 * discarded with it.
+	 */
+	private static Map<String, IConfigurationElement[]> extensionsByTarget;
+
+	/**
+	 * The ids of the action sets contributed to a perspective id, derived from
+	 * {@link #perspectiveExtensions} and discarded with it.
+	 */
+	private static Map<String, List<String>> actionSetsByTarget;
+
     /**
      * PerspectiveExtensionReader constructor..
      */
@@ -76,11 +105,121 @@ public class PerspectiveExtensionReader extends RegistryReader {
     	tracker = extensionTracker;
     	targetID = id;
         pageLayout = out;
-        // RAP [bm] namespace
-        readRegistry(Platform.getExtensionRegistry(), PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
-                IWorkbenchRegistryConstants.PL_PERSPECTIVE_EXTENSIONS);
+		readElements(getPerspectiveExtensions(id));
     }
 
+	/**
+	 * Returns the <code>perspectiveExtension</code> elements that target the
+	 * given perspective id or all perspectives, in registry order. The
+	 * elements are read from the registry once and shared by all sessions
+	 * until the perspective extensions change.
+	 *
+	 * @param id
+	 *            the perspective id
+	 * @return the elements, must not be modified
+	 */
+	static IConfigurationElement[] getPerspectiveExtensions(String id) {
+		List<IConfigurationElement> elements;
+		Map<String, IConfigurationElement[]> byTarget;
+		synchronized (PerspectiveExtensionReader.class) {
+			SharedRegistryCaches.recordLookup(perspectiveExtensions != null);
+			initCache();
+			elements = perspectiveExtensions;
+			byTarget = extensionsByTarget;
+		}
+		return byTarget.computeIfAbsent(id, targetId -> {
+			List<IConfigurationElement> result = new ArrayList<>();
+			for (IConfigurationElement element : elements) {
+				String elementTarget = element.getAttribute(IWorkbenchRegistryConstants.ATT_TARGET_ID);
+				if (targetId.equals(elementTarget) || "*".equals(elementTarget)) { //$NON-NLS-1$
+					result.add(element);
+				}
+			}
+			return result.toArray(new IConfigurationElement[result.size()]);
+		});
+	}
+
+	/**
+	 * Returns the ids of the action sets that the
+	 * <code>perspectiveExtensions</code> extension point contributes to the
+	 * given perspective id, in registry order. This is what reading the
+	 * registry with only {@link IWorkbenchRegistryConstants#TAG_ACTION_SET}
+	 * included adds to a layout, without creating a layout. The result is
+	 * shared by all sessions until the perspective extensions change.
+	 *
+	 * @param id
+	 *            the perspective id
+	 * @return the action set ids, never <code>null</code>, must not be
+	 *         modified
+	 */
+	public static List<String> getActionSetIds(String id) {
+		Map<String, List<String>> byTarget;
+		synchronized (PerspectiveExtensionReader.class) {
+			SharedRegistryCaches.recordLookup(perspectiveExtensions != null);
+			initCache();
+			byTarget = actionSetsByTarget;
+		}
+		return byTarget.computeIfAbsent(id, targetId -> {
+			List<String> result = new ArrayList<>();
+			for (IConfigurationElement element : getPerspectiveExtensions(targetId)) {
+				for (IConfigurationElement child : element
+						.getChildren(IWorkbenchRegistryConstants.TAG_ACTION_SET)) {
+					String actionSetId = child.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
+					if (actionSetId != null) {
+						result.add(actionSetId);
+					}
+				}
+			}
+			return Collections.unmodifiableList(result);
+		});
+	}
+
+	/**
+	 * Reads the <code>perspectiveExtension</code> elements ahead of the first
+	 * session, unless they are already cached.
+	 */
+	public static synchronized void warmUp() {
+		initCache();
+	}
+
+	private static void initCache() {
+		if (perspectiveExtensions == null) {
+			perspectiveExtensions = Collections.unmodifiableList(readPerspectiveExtensions());
+			extensionsByTarget = new ConcurrentHashMap<>();
+			actionSetsByTarget = new ConcurrentHashMap<>();
+		}
+	}
+
+	private static List<IConfigurationElement> readPerspectiveExtensions() {
+		IExtensionRegistry registry = Platform.getExtensionRegistry();
+		SharedRegistryCaches.register(PerspectiveExtensionReader.class,
+				SharedRegistryCaches.affectsExtensionPoints(IWorkbenchRegistryConstants.PL_PERSPECTIVE_EXTENSIONS),
+				PerspectiveExtensionReader::clearCache);
+		List<IConfigurationElement> result = new ArrayList<>();
+		// RAP [bm] namespace
+		IExtensionPoint point = registry.getExtensionPoint(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+				IWorkbenchRegistryConstants.PL_PERSPECTIVE_EXTENSIONS);
+		if (point == null) {
+			return result;
+		}
+		for (IExtension extension : orderExtensions(point.getExtensions())) {
+			for (IConfigurationElement element : extension.getConfigurationElements()) {
+				if (IWorkbenchRegistryConstants.TAG_PERSPECTIVE_EXTENSION.equals(element.getName())) {
+					result.add(element);
+				} else {
+					logUnknownElement(element);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static synchronized void clearCache() {
+		perspectiveExtensions = null;
+		extensionsByTarget = null;
+		actionSetsByTarget = null;
+	}
+
     /**
      * Returns whether the given tag should be included.
      */
@@ -91,6 +91,9 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 	// lists contain "equal" saveables as many times as we have counted them above
 	private Map<Saveable, List<Saveable>> equalKeys = new IdentityHashMap<>();
 
+	// the keys of modelRefCounts, to find the key instance equal to a saveable
+	private Map<Saveable, Saveable> refKeys = new HashMap<>();
+
 	private Set<ISaveablesSource> nonPartSources = new HashSet<>();
 
 	/**
@@ -116,12 +119,20 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 					"Ignored attempt to add invalid saveable", source, model); //$NON-NLS-1$
 			return false;
 		}
-		boolean result = false;
+		return addModel(getModelsForSource(source), source, model);
+	}
+
+	private Set<Saveable> getModelsForSource(Object source) {
 		Set<Saveable> modelsForSource = modelMap.get(source);
 		if (modelsForSource == null) {
 			modelsForSource = new HashSet<>();
 			modelMap.put(source, modelsForSource);
 		}
+		return modelsForSource;
+	}
+
+	private boolean addModel(Set<Saveable> modelsForSource, Object source, Saveable model) {
+		boolean result = false;
 		if (modelsForSource.add(model)) {
 			result = incrementRefCount(modelRefCounts, model);
 		} else {
@@ -151,6 +162,7 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 			if (result) {
 				// first time we saw such key
 				rememberRefKey(key);
+				refKeys.put(key, key);
 			} else {
 				incrementRefKeys(key);
 			}
@@ -200,27 +212,60 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 		int refCountValue = refCount.intValue();
 		if (refCountValue == 1) {
 			modelRefCounts.remove(key);
+			forgetRefKey(key);
 			result = true;
 			forgetRefKeys(key);
 		} else {
 			Saveable keyUsedInCountMap;
-			Collection<Saveable> equals = equalKeys.get(keyToDecrement);
-			long instanceCount = count(keyToDecrement, equals);
-			if (instanceCount == 1) {
-				forgetRefKeys(keyToDecrement);
-				keyUsedInCountMap = equals.iterator().next();
+			List<Saveable> equals = equalKeys.get(keyToDecrement);
+			if (removeRefKey(keyToDecrement, equals)) {
+				// that was the last reference to this instance
+				equalKeys.remove(keyToDecrement);
+				keyUsedInCountMap = equals.get(0);
 			} else {
-				decrementRefKeys(keyToDecrement);
 				keyUsedInCountMap = key;
 			}
 			modelRefCounts.remove(keyToDecrement);
+			forgetRefKey(key);
 			modelRefCounts.put(keyUsedInCountMap, Integer.valueOf(refCountValue - 1));
+			refKeys.put(keyUsedInCountMap, keyUsedInCountMap);
 		}
 		return result;
 	}
 
-	private long count(final Saveable keyToDecrement, Collection<Saveable> equals) {
-		return equals.stream().filter(x -> x == keyToDecrement).count();
+	/**
+	 * Removes the first occurrence of the given instance from the list of
+	 * equal keys, in a single pass.
+	 *
+	 * @return true if the list contained the instance only once, false if it
+	 *         contained it several times or not at all
+	 */
+	private boolean removeRefKey(Saveable key, List<Saveable> equals) {
+		int index = -1;
+		for (int i = 0; i < equals.size(); i++) {
+			if (equals.get(i) == key) {
+				if (index != -1) {
+					equals.remove(index);
+					return false;
+				}
+				index = i;
+			}
+		}
+		if (index == -1) {
+			return false;
+		}
+		equals.remove(index);
+		return true;
+	}
+
+	/**
+	 * Removes the given key used in the count map from the key lookup. A key
+	 * whose hash code changed since it was added is found by identity.
+	 */
+	private void forgetRefKey(Saveable key) {
+		if (refKeys.remove(key) == null) {
+			refKeys.values().removeIf(x -> x == key);
+		}
 	}
 
 	/**
@@ -259,18 +304,6 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 		}
 	}
 
-	private void decrementRefKeys(Saveable key) {
-		List<Saveable> keys = equalKeys.get(key);
-		if (keys != null) {
-			for (int i = 0; i < keys.size(); i++) {
-				if (keys.get(i) == key) {
-					keys.remove(i);
-					break;
-				}
-			}
-		}
-	}
-
 	/**
 	 *
 	 * @param key
@@ -278,7 +311,13 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 	 * @return probably existing equal key we use in modelRefCounts map
 	 */
 	private Saveable findExistingRefKey(Saveable key) {
-		Saveable existingKey = null;
+		Saveable existingKey = refKeys.get(key);
+		if (existingKey != null && modelRefCounts.get(existingKey) != null) {
+			return existingKey;
+		}
+		// the hash code of the key may have changed since it was added, so
+		// the lookup may have missed it or found a stale key
+		existingKey = null;
 		Set<Saveable> keys = modelRefCounts.keySet();
 		for (Saveable s : keys) {
 			if (s.equals(key)) {
@@ -297,19 +336,25 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 			logWarning(
 					"Ignored attempt to remove a saveable when no saveables were known", source, model); //$NON-NLS-1$
 		} else {
-			if (modelsForSource.remove(model)) {
-				result = decrementRefCount(model);
-				if (modelsForSource.isEmpty()) {
-					modelMap.remove(source);
-				}
-			} else {
-				logWarning(
-						"Ignored attempt to remove a saveable that was not registered", source, model); //$NON-NLS-1$
+			result = removeModel(modelsForSource, source, model);
+			if (modelsForSource.isEmpty()) {
+				modelMap.remove(source);
 			}
 		}
 		return result;
 	}
 
+	private boolean removeModel(Set<Saveable> modelsForSource, Object source, Saveable model) {
+		boolean result = false;
+		if (modelsForSource.remove(model)) {
+			result = decrementRefCount(model);
+		} else {
+			logWarning(
+					"Ignored attempt to remove a saveable that was not registered", source, model); //$NON-NLS-1$
+		}
+		return result;
+	}
+
 	private void logWarning(String message, Object source, Saveable model) {
 		// create a new exception
 		AssertionFailedException assertionFailedException = new AssertionFailedException("unknown saveable: " + model //$NON-NLS-1$
@@ -397,11 +442,18 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 	 */
 	private void removeModels(Object source, Saveable[] modelArray) {
 		List<Saveable> removed = new ArrayList<>();
+		Set<Saveable> modelsForSource = modelMap.get(source);
 		for (Saveable model : modelArray) {
-			if (removeModel(source, model)) {
+			if (modelsForSource == null) {
+				logWarning(
+						"Ignored attempt to remove a saveable when no saveables were known", source, model); //$NON-NLS-1$
+			} else if (removeModel(modelsForSource, source, model)) {
 				removed.add(model);
 			}
 		}
+		if (modelsForSource != null && modelsForSource.isEmpty()) {
+			modelMap.remove(source);
+		}
 		if (removed.size() > 0) {
 			fireModelLifecycleEvent(new SaveablesLifecycleEvent(this,
 					SaveablesLifecycleEvent.POST_OPEN, removed
@@ -415,8 +467,17 @@ public class SaveablesList implements ISaveablesLifecycleListener {
 	 */
 	private void addModels(Object source, Saveable[] modelArray) {
 		List<Saveable> added = new ArrayList<>();
+		Set<Saveable> modelsForSource = null;
 		for (Saveable model : modelArray) {
-			if (addModel(source, model)) {
+			if (model == null) {
+				logWarning(
+						"Ignored attempt to add invalid saveable", source, model); //$NON-NLS-1$
+				continue;
+			}
+			if (modelsForSource == null) {
+				modelsForSource = getModelsForSource(source);
+			}
+			if (addModel(modelsForSource, source, model)) {
 				added.add(model);
 			}
 		}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.internal.commands.CommandPersistence;
+import org.eclipse.ui.internal.handlers.LegacyHandlerService;
+import org.eclipse.ui.internal.menus.MenuPersistence;
+import org.eclipse.ui.internal.misc.StartupProfiler;
+import org.eclipse.ui.internal.misc.StatusUtil;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
+
+/**
+ * Reads the registry data that is shared by all sessions in a system job when
+ * the workbench plug-in starts, so that the first session of every locale
+ * does not read it. Only the tables of the default locale are read ahead, the
+ * tables of other locales are read by their first session.
+ * <p>
+ * The warm-up is turned on with the system property
+ * <code>{@value #PROP_WARM_UP}</code>. Its outcome is published as the
+ * {@link SharedRegistryWarmUpMXBean} <code>{@value #OBJECT_NAME}</code> on
+ * the platform MBean server: the number of tables read, when they were ready,
+ * and how many lookups of the shared caches found their data already read.
+ * Every table is also read in a {@link StartupProfiler} phase.
+ * </p>
+ */
+public final class SharedRegistryWarmUp {
+
+	/**
+	 * The system property that turns the warm-up on, <code>false</code> by
+	 * default.
+	 */
+	public static final String PROP_WARM_UP = "org.eclipse.rap.workbenchWarmUp"; //$NON-NLS-1$
+
+	/**
+	 * The name the warm-up is registered with on the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "org.eclipse.rap.ui:type=SharedRegistryWarmUp"; //$NON-NLS-1$
+
+	private static final String[] TABLE_NAMES = { "CommandPersistence", //$NON-NLS-1$
+			"LegacyHandlerService", "MenuPersistence", "PerspectiveExtensionReader" }; //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+
+	private static final Runnable[] TABLES = { CommandPersistence::warmUp, LegacyHandlerService::warmUp,
+			MenuPersistence::warmUp, PerspectiveExtensionReader::warmUp };
+
+	private static Job job;
+
+	private static boolean registered;
+
+	private static volatile long scheduledNanos;
+
+	private static volatile int warmedTables;
+
+	private static volatile long readNanos = -1;
+
+	private static volatile long readyNanos = -1;
+
+	private SharedRegistryWarmUp() {
+		// not instantiated
+	}
+
+	/**
+	 * Schedules the warm-up, unless it is already scheduled.
+	 */
+	static synchronized void schedule() {
+		if (job != null) {
+			return;
+		}
+		register();
+		scheduledNanos = System.nanoTime();
+		warmedTables = 0;
+		readNanos = -1;
+		readyNanos = -1;
+		job = new Job("Read workbench registry") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				warmUp(monitor);
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Cancels the warm-up and waits for it to end, and unregisters it from
+	 * the platform MBean server.
+	 */
+	static synchronized void dispose() {
+		if (job != null) {
+			job.cancel();
+			try {
+				job.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			job = null;
+		}
+		if (registered) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+			} catch (Exception e) {
+				WorkbenchPlugin.log("Unable to unregister the registry warm-up", //$NON-NLS-1$
+						StatusUtil.newStatus(IStatus.WARNING, e.getMessage(), e));
+			}
+			registered = false;
+		}
+	}
+
+	private static void warmUp(IProgressMonitor monitor) {
+		long start = System.nanoTime();
+		for (int i = 0; i < TABLES.length && !monitor.isCanceled(); i++) {
+			StartupProfiler.Phase phase = StartupProfiler.start("SharedRegistryWarmUp." + TABLE_NAMES[i]); //$NON-NLS-1$
+			try {
+				TABLES[i].run();
+				warmedTables++;
+			} catch (RuntimeException e) {
+				// the first session reads the table instead
+				WorkbenchPlugin.log("Unable to read " + TABLE_NAMES[i] + " ahead of the first session", e); //$NON-NLS-1$ //$NON-NLS-2$
+			} finally {
+				phase.end();
+			}
+		}
+		long end = System.nanoTime();
+		readNanos = end - start;
+		readyNanos = end - scheduledNanos;
+	}
+
+	private static void register() {
+		if (registered) {
+			return;
+		}
+		registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new SharedRegistryWarmUpMXBeanImpl(), name);
+			}
+		} catch (Exception e) {
+			WorkbenchPlugin.log("Unable to register the registry warm-up", //$NON-NLS-1$
+					StatusUtil.newStatus(IStatus.WARNING, e.getMessage(), e));
+		}
+	}
+
+	private static long toMillis(long nanos) {
+		return nanos < 0 ? -1 : nanos / 1000000;
+	}
+
+	/**
+	 * The management interface of the registry warm-up.
+	 */
+	public interface SharedRegistryWarmUpMXBean {
+
+		/**
+		 * @return the number of shared tables read by the warm-up
+		 */
+		int getWarmedTables();
+
+		/**
+		 * @return the time the warm-up took to read the tables in
+		 *         milliseconds, or <code>-1</code> if it did not finish yet
+		 */
+		long getReadMillis();
+
+		/**
+		 * @return the time from starting the plug-in until the tables were
+		 *         read in milliseconds, including the time the warm-up waited
+		 *         to be run, or <code>-1</code> if it did not finish yet
+		 */
+		long getReadyMillis();
+
+		/**
+		 * @return the number of lookups of the shared caches that found the
+		 *         data already read
+		 */
+		long getHits();
+
+		/**
+		 * @return the number of lookups of the shared caches that read the
+		 *         data from the registry
+		 */
+		long getMisses();
+
+		/**
+		 * @return the ratio of the hits to all lookups, or <code>0</code>
+		 *         if there was no lookup yet
+		 */
+		double getHitRate();
+	}
+
+	private static final class SharedRegistryWarmUpMXBeanImpl implements SharedRegistryWarmUpMXBean {
+
+		@Override
+		public int getWarmedTables() {
+			return warmedTables;
+		}
+
+		@Override
+		public long getReadMillis() {
+			return toMillis(readNanos);
+		}
+
+		@Override
+		public long getReadyMillis() {
+			return toMillis(readyNanos);
+		}
+
+		@Override
+		public long getHits() {
+			return SharedRegistryCaches.getHits();
+		}
+
+		@Override
+		public long getMisses() {
+			return SharedRegistryCaches.getMisses();
+		}
+
+		@Override
+		public double getHitRate() {
+			long hits = getHits();
+			long lookups = hits + getMisses();
+			return lookups == 0 ? 0 : (double) hits / lookups;
+		}
+	}
+}
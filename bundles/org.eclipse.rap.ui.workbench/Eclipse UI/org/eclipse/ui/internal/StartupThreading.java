@@ -16,6 +16,7 @@ package org.eclipse.ui.internal;
 
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.WorkbenchException;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.misc.StatusUtil;
 
 /**
@@ -32,7 +33,12 @@ public final class StartupThreading {
 
 		public final void run() {
 			try {
-				runWithException();
+				StartupProfiler.Phase phase = StartupProfiler.start(this);
+				try {
+					runWithException();
+				} finally {
+					phase.end();
+				}
 			} catch (Throwable t) {
 				this.throwable = t;
 			}
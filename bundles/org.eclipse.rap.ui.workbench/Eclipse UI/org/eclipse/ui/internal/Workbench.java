@@ -85,8 +85,6 @@ import org.eclipse.e4.ui.internal.workbench.swt.PartRenderingEngine;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.commands.MBindingContext;
 import org.eclipse.e4.ui.model.application.commands.MBindingTable;
-import org.eclipse.e4.ui.model.application.commands.MCategory;
-import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.commands.MCommandsFactory;
 import org.eclipse.e4.ui.model.application.commands.impl.CommandsFactoryImpl;
 import org.eclipse.e4.ui.model.application.descriptor.basic.MPartDescriptor;
@@ -207,6 +205,7 @@ import org.eclipse.ui.internal.keys.BindingService;
 import org.eclipse.ui.internal.menus.FocusControlSourceProvider;
 import org.eclipse.ui.internal.menus.WorkbenchMenuService;
 import org.eclipse.ui.internal.misc.Policy;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.misc.StatusUtil;
 import org.eclipse.ui.internal.misc.UIStats;
 import org.eclipse.ui.internal.model.ContributionService;
@@ -1811,7 +1810,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 			}
 		});
 
-		initializeLazyServices();
+		StartupProfiler.Phase phase = StartupProfiler.start("Workbench.initializeLazyServices"); //$NON-NLS-1$
+		try {
+			initializeLazyServices();
+		} finally {
+			phase.end();
+		}
 
 		// Initialize the activity support.
 
@@ -1823,7 +1827,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 				WorkbenchImages.getImageRegistry();
 			}
 		});
-		initializeE4Services();
+		phase = StartupProfiler.start("Workbench.initializeE4Services"); //$NON-NLS-1$
+		try {
+			initializeE4Services();
+		} finally {
+			phase.end();
+		}
 		IIntroRegistry introRegistry = WorkbenchPlugin.getDefault().getIntroRegistry();
         if (introRegistry.getIntroCount() > 0) {
             // RAP [bm]: no product support - use branding instead
@@ -1839,7 +1848,12 @@ public final class Workbench extends EventManager implements IWorkbench,
             }
             // ENDRAP
         }
-		initializeDefaultServices();
+		phase = StartupProfiler.start("Workbench.initializeDefaultServices"); //$NON-NLS-1$
+		try {
+			initializeDefaultServices();
+		} finally {
+			phase.end();
+		}
 		initializeFonts();
 		initializeApplicationColors();
 
@@ -1914,7 +1928,7 @@ public final class Workbench extends EventManager implements IWorkbench,
 		StartupThreading.runWithoutExceptions(new StartupRunnable() {
 			@Override
 			public void runWithException() {
-				WorkbenchImages.getDescriptors();
+				WorkbenchImages.getImageRegistry();
 			}
 		});
 	}
@@ -2360,14 +2374,16 @@ public final class Workbench extends EventManager implements IWorkbench,
 		WorkbenchPlugin.getDefault().initializeContext(e4Context);
 	}
 
-	private ArrayList<MCommand> commandsToRemove = new ArrayList<>();
-	private ArrayList<MCategory> categoriesToRemove = new ArrayList<>();
-
 	private CommandService initializeCommandService(IEclipseContext appContext) {
 		CommandService service = new CommandService(commandManager, appContext);
 		appContext.set(ICommandService.class, service);
 		appContext.set(IUpdateService.class, service);
-		service.readRegistry();
+		StartupProfiler.Phase phase = StartupProfiler.start("CommandService.readRegistry"); //$NON-NLS-1$
+		try {
+			service.readRegistry();
+		} finally {
+			phase.end();
+		}
 
 		return service;
 	}
@@ -2542,22 +2558,39 @@ public final class Workbench extends EventManager implements IWorkbench,
 		// bindingService[0].readRegistryAndPreferences(commandService[0]);
 		serviceLocator.registerService(IBindingService.class, bindingService[0]);
 
-		final CommandImageManager commandImageManager = new CommandImageManager();
-		final CommandImageService commandImageService = new CommandImageService(commandImageManager, commandService[0]);
-		commandImageService.readRegistry();
-		serviceLocator.registerService(ICommandImageService.class, commandImageService);
-
-		final WorkbenchMenuService menuService = new WorkbenchMenuService(serviceLocator, e4Context);
-
-		serviceLocator.registerService(IMenuService.class, menuService);
-		// the service must be registered before it is initialized - its
-		// initialization uses the service locator to address a dependency on
-		// the menu service
-		StartupThreading.runWithoutExceptions(new StartupRunnable() {
-
+		// the command image and menu services are only needed once
+		// contributions are rendered, they are created on first lookup
+		e4Context.set(ICommandImageService.class.getName(), new ContextFunction() {
 			@Override
-			public void runWithException() {
-				menuService.readRegistry();
+			public Object compute(IEclipseContext context, String contextKey) {
+				if (commandImageService == null) {
+					CommandImageService service = new CommandImageService(new CommandImageManager(),
+							commandService[0]);
+					StartupProfiler.Phase phase = StartupProfiler.start("CommandImageService.readRegistry"); //$NON-NLS-1$
+					try {
+						service.readRegistry();
+					} finally {
+						phase.end();
+					}
+					commandImageService = service;
+				}
+				return commandImageService;
+			}
+		});
+		e4Context.set(IMenuService.class.getName(), new ContextFunction() {
+			@Override
+			public Object compute(IEclipseContext context, String contextKey) {
+				if (menuService == null) {
+					WorkbenchMenuService service = new WorkbenchMenuService(serviceLocator, e4Context);
+					StartupProfiler.Phase phase = StartupProfiler.start("WorkbenchMenuService.readRegistry"); //$NON-NLS-1$
+					try {
+						service.readRegistry();
+					} finally {
+						phase.end();
+					}
+					menuService = service;
+				}
+				return menuService;
 			}
 		});
 
@@ -2574,7 +2607,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 			@Override
 			public void runWithException() {
 				// this currently instantiates all players ... sigh
-				sourceProviderService.readRegistry();
+				StartupProfiler.Phase phase = StartupProfiler.start("SourceProviderService.readRegistry"); //$NON-NLS-1$
+				try {
+					sourceProviderService.readRegistry();
+				} finally {
+					phase.end();
+				}
 				ISourceProvider[] sp = sourceProviderService.getSourceProviders();
 				for (int i = 0; i < sp.length; i++) {
 					evaluationService.addSourceProvider(sp[i]);
@@ -2613,7 +2651,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 			public void runWithException() {
 				handlerService[0] = new LegacyHandlerService(e4Context);
 				e4Context.set(IHandlerService.class, handlerService[0]);
-				handlerService[0].readRegistry();
+				StartupProfiler.Phase phase = StartupProfiler.start("LegacyHandlerService.readRegistry"); //$NON-NLS-1$
+				try {
+					handlerService[0].readRegistry();
+				} finally {
+					phase.end();
+				}
 			}
 		});
 		workbenchContextSupport = new WorkbenchContextSupport(this, contextManager);
@@ -2625,8 +2668,15 @@ public final class Workbench extends EventManager implements IWorkbench,
 		// addWindowListener(windowListener);
 		bindingManager.addBindingManagerListener(bindingManagerListener);
 
-		serviceLocator.registerService(ISelectionConversionService.class,
-				new SelectionConversionService());
+		e4Context.set(ISelectionConversionService.class.getName(), new ContextFunction() {
+			@Override
+			public Object compute(IEclipseContext context, String contextKey) {
+				if (selectionConversionService == null) {
+					selectionConversionService = new SelectionConversionService();
+				}
+				return selectionConversionService;
+			}
+		});
 
 		backForwardListener = createBackForwardListener();
 		StartupThreading.runWithoutExceptions(new StartupRunnable() {
@@ -3060,7 +3110,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 			final boolean[] initOK = new boolean[1];
 
 			// initialize workbench and restore or open one window
-			initOK[0] = init();
+			StartupProfiler.Phase initPhase = StartupProfiler.start("Workbench.init"); //$NON-NLS-1$
+			try {
+				initOK[0] = init();
+			} finally {
+				initPhase.end();
+			}
 
 			if (initOK[0] && runEventLoop) {
 				// Same registration as in E4Workbench
@@ -3258,12 +3313,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 //		// Bring down all of the services.
 //		serviceLocator.dispose();
 		// RAPEND [DM]
-		application.getCommands().removeAll(commandsToRemove);
-		application.getCategories().removeAll(categoriesToRemove);
 		getDisplay().removeFilter(SWT.MouseDown, backForwardListener);
 		backForwardListener = null;
 
-		workbenchActivitySupport.dispose();
+		if (workbenchActivitySupport != null) {
+			workbenchActivitySupport.dispose();
+		}
 		WorkbenchHelpSystem.disposeIfNecessary();
 
 		// shutdown the rest of the workbench
@@ -3285,8 +3340,12 @@ public final class Workbench extends EventManager implements IWorkbench,
 		  eventBroker.unsubscribe( children2EventHandler );
 		  eventBroker.unsubscribe( uiModelTopicBaseEventHandler );
 	// RAP [DM]:
-		  IMenuService wms = e4Workbench.getContext().get(IMenuService.class);
-		  wms.dispose();
+		  if (menuService != null) {
+			  menuService.dispose();
+		  }
+		  if (commandImageService != null) {
+			  commandImageService.dispose();
+		  }
 		  e4Context.dispose();
 		  
 		  contextManager.removeContextManagerListener(this.contextManagerListener);
@@ -3408,6 +3467,17 @@ public final class Workbench extends EventManager implements IWorkbench,
 
 	private WorkbenchActivitySupport workbenchActivitySupport;
 
+	/**
+	 * The services created on first lookup, see
+	 * <code>initializeDefaultServices()</code>. <code>null</code> until they
+	 * are looked up.
+	 */
+	private CommandImageService commandImageService;
+
+	private WorkbenchMenuService menuService;
+
+	private SelectionConversionService selectionConversionService;
+
 // RAP [rh] unused code: getCommandSupport is disabled
 //	private WorkbenchCommandSupport workbenchCommandSupport;
 
@@ -16,8 +16,11 @@
 package org.eclipse.ui.internal;
 
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.rap.rwt.RWT;
@@ -73,6 +76,67 @@ public/*final*/class WorkbenchImages {
 	private static final String IMAGE_REGISTRY = WorkbenchImages.class.getName() + "#imageRegistry";
 //End RAP specific
 
+	/**
+	 * The images declared by the workbench itself. They are the same for all
+	 * sessions and are therefore declared once per application. The session
+	 * scoped descriptors only hold the images declared by the application
+	 * through {@link #declareImage(String, ImageDescriptor, boolean)}.
+	 */
+	private static volatile DeclaredImages declaredImages;
+
+	private static final class DeclaredImages {
+		final Map<String, ImageDescriptor> descriptors = new HashMap<>();
+
+		final Set<String> sharedNames = new HashSet<>();
+	}
+
+	/**
+	 * An image registry that declares the shared workbench images when they
+	 * are first requested, rather than creating an entry for each of them in
+	 * every session.
+	 */
+	private static final class SessionImageRegistry extends ImageRegistry {
+
+		private final DeclaredImages images;
+
+		private Set<String> removedNames;
+
+		SessionImageRegistry(DeclaredImages images) {
+			this.images = images;
+		}
+
+		@Override
+		public Image get(String key) {
+			declareShared(key);
+			return super.get(key);
+		}
+
+		@Override
+		public ImageDescriptor getDescriptor(String key) {
+			declareShared(key);
+			return super.getDescriptor(key);
+		}
+
+		@Override
+		public void remove(String key) {
+			super.remove(key);
+			if (images.sharedNames.contains(key)) {
+				if (removedNames == null) {
+					removedNames = new HashSet<>();
+				}
+				removedNames.add(key);
+			}
+		}
+
+		private void declareShared(String key) {
+			if (key != null && images.sharedNames.contains(key)
+					&& (removedNames == null || !removedNames.contains(key))
+					&& super.getDescriptor(key) == null) {
+				put(key, images.descriptors.get(key));
+			}
+		}
+	}
+
     /* Declare Common paths */
 
     public static final String ICONS_PATH = "$nl$/icons/full/";//$NON-NLS-1$
@@ -108,11 +172,15 @@ public/*final*/class WorkbenchImages {
      * @param shared <code>true</code> if this is a shared image, and
      * <code>false</code> if this is not a shared image
      */
-    private static final void declareImage(String key, String path,
+    private static final void declareImage(DeclaredImages images, String key, String path,
             boolean shared) {
         URL url = BundleUtility.find(PlatformUI.PLUGIN_ID, path);
         ImageDescriptor desc = ImageDescriptor.createFromURL(url);
-        declareImage(key, desc, shared);
+        checkDeclaredImage(key, desc);
+        images.descriptors.put(key, desc);
+        if (shared) {
+            images.sharedNames.add(key);
+        }
     }
 
     private static void drawViewMenu(GC gc, GC maskgc) {
@@ -141,179 +209,179 @@ public/*final*/class WorkbenchImages {
      * Declares all the workbench's images, including both "shared" ones and
      * internal ones.
      */
-    private static final void declareImages() {
+    private static final void declareImages(DeclaredImages images) {
 		// Overlays
-		declareImage(ISharedImages.IMG_DEC_FIELD_ERROR, PATH_OVERLAY + "error_ovr.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_DEC_FIELD_WARNING, PATH_OVERLAY + "warning_ovr.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_DEC_FIELD_ERROR, PATH_OVERLAY + "error_ovr.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_DEC_FIELD_WARNING, PATH_OVERLAY + "warning_ovr.gif", true); //$NON-NLS-1$
 
 		// Pinning
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_PIN_EDITOR, PATH_ETOOL + "pin_editor.gif", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_PIN_EDITOR_DISABLED, PATH_DTOOL + "pin_editor.gif", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_PIN_EDITOR, PATH_ETOOL + "pin_editor.gif", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_PIN_EDITOR_DISABLED, PATH_DTOOL + "pin_editor.gif", false); //$NON-NLS-1$
 
 		// other toolbar buttons
 
-		declareImage(ISharedImages.IMG_ETOOL_SAVE_EDIT, PATH_ETOOL + "save_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_SAVE_EDIT_DISABLED, PATH_DTOOL + "save_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVE_EDIT, PATH_ETOOL + "save_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVE_EDIT_DISABLED, PATH_DTOOL + "save_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_SAVEAS_EDIT, PATH_ETOOL + "saveas_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_SAVEAS_EDIT_DISABLED, PATH_DTOOL + "saveas_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVEAS_EDIT, PATH_ETOOL + "saveas_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVEAS_EDIT_DISABLED, PATH_DTOOL + "saveas_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_SAVEALL_EDIT, PATH_ETOOL + "saveall_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_SAVEALL_EDIT_DISABLED, PATH_DTOOL + "saveall_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVEALL_EDIT, PATH_ETOOL + "saveall_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_SAVEALL_EDIT_DISABLED, PATH_DTOOL + "saveall_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_UNDO, PATH_ETOOL + "undo_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_UNDO_DISABLED, PATH_DTOOL + "undo_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_UNDO, PATH_ETOOL + "undo_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_UNDO_DISABLED, PATH_DTOOL + "undo_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_REDO, PATH_ETOOL + "redo_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_REDO_DISABLED, PATH_DTOOL + "redo_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_REDO, PATH_ETOOL + "redo_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_REDO_DISABLED, PATH_DTOOL + "redo_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_CUT, PATH_ETOOL + "cut_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_CUT_DISABLED, PATH_DTOOL + "cut_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_CUT, PATH_ETOOL + "cut_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_CUT_DISABLED, PATH_DTOOL + "cut_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_COPY, PATH_ETOOL + "copy_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_COPY_DISABLED, PATH_DTOOL + "copy_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_COPY, PATH_ETOOL + "copy_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_COPY_DISABLED, PATH_DTOOL + "copy_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_PASTE, PATH_ETOOL + "paste_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_PASTE_DISABLED, PATH_DTOOL + "paste_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_PASTE, PATH_ETOOL + "paste_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_PASTE_DISABLED, PATH_DTOOL + "paste_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_DELETE, PATH_ETOOL + "delete_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_DELETE_DISABLED, PATH_DTOOL + "delete_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_DELETE, PATH_ETOOL + "delete_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_DELETE_DISABLED, PATH_DTOOL + "delete_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_DELETE, PATH_ETOOL + "delete.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_DELETE_DISABLED, PATH_DTOOL + "delete.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_DELETE, PATH_ETOOL + "delete.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_DELETE_DISABLED, PATH_DTOOL + "delete.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_CLEAR, PATH_ETOOL + "clear.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_CLEAR_DISABLED, PATH_DTOOL + "clear.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_CLEAR, PATH_ETOOL + "clear.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_CLEAR_DISABLED, PATH_DTOOL + "clear.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_NEW_WIZARD, PATH_ETOOL + "new_wiz.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_NEW_WIZARD_DISABLED, PATH_DTOOL + "new_wiz.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_NEW_WIZARD, PATH_ETOOL + "new_wiz.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_NEW_WIZARD_DISABLED, PATH_DTOOL + "new_wiz.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_PRINT_EDIT, PATH_ETOOL + "print_edit.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_PRINT_EDIT_DISABLED, PATH_DTOOL + "print_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_PRINT_EDIT, PATH_ETOOL + "print_edit.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_PRINT_EDIT_DISABLED, PATH_DTOOL + "print_edit.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_HELP_CONTENTS, PATH_ETOOL + "help_contents.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_HELP_SEARCH, PATH_ETOOL + "help_search.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_TIPS_AND_TRICKS, PATH_ETOOL + "tricks.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_HELP_CONTENTS, PATH_ETOOL + "help_contents.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_HELP_SEARCH, PATH_ETOOL + "help_search.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_TIPS_AND_TRICKS, PATH_ETOOL + "tricks.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_NEW_FASTVIEW, PATH_ETOOL + "new_fastview.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_DTOOL_NEW_FASTVIEW, PATH_DTOOL + "new_fastview.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_NEW_FASTVIEW, PATH_ETOOL + "new_fastview.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_DTOOL_NEW_FASTVIEW, PATH_DTOOL + "new_fastview.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_RESTORE_TRIMPART, PATH_ETOOL + "fastview_restore.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_EDITOR_TRIMPART, PATH_ETOOL + "editor_area.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_RESTORE_TRIMPART, PATH_ETOOL + "fastview_restore.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_EDITOR_TRIMPART, PATH_ETOOL + "editor_area.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_FORWARD, PATH_ELOCALTOOL + "forward_nav.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_FORWARD_DISABLED, PATH_DLOCALTOOL + "forward_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_FORWARD, PATH_ELOCALTOOL + "forward_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_FORWARD_DISABLED, PATH_DLOCALTOOL + "forward_nav.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_BACK, PATH_ELOCALTOOL + "backward_nav.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_BACK_DISABLED, PATH_DLOCALTOOL + "backward_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_BACK, PATH_ELOCALTOOL + "backward_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_BACK_DISABLED, PATH_DLOCALTOOL + "backward_nav.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_TOOL_UP, PATH_ELOCALTOOL + "up_nav.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_TOOL_UP_DISABLED, PATH_DLOCALTOOL + "up_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_UP, PATH_ELOCALTOOL + "up_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_TOOL_UP_DISABLED, PATH_DLOCALTOOL + "up_nav.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_SYNCED, PATH_ELOCALTOOL + "synced.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_SYNCED_DISABLED, PATH_DLOCALTOOL + "synced.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_SYNCED, PATH_ELOCALTOOL + "synced.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_SYNCED_DISABLED, PATH_DLOCALTOOL + "synced.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_COLLAPSEALL, PATH_ELOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_COLLAPSEALL_DISABLED, PATH_DLOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_COLLAPSEALL, PATH_ELOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_COLLAPSEALL_DISABLED, PATH_DLOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_REMOVE, PATH_ELOCALTOOL + "remove.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_REMOVE_DISABLED, PATH_DLOCALTOOL + "remove.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_REMOVE, PATH_ELOCALTOOL + "remove.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_REMOVE_DISABLED, PATH_DLOCALTOOL + "remove.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_REMOVEALL, PATH_ELOCALTOOL + "removeall.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_REMOVEALL_DISABLED, PATH_DLOCALTOOL + "removeall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_REMOVEALL, PATH_ELOCALTOOL + "removeall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_REMOVEALL_DISABLED, PATH_DLOCALTOOL + "removeall.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_COLLAPSEALL, PATH_ELOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_COLLAPSEALL_DISABLED, PATH_DLOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_COLLAPSEALL, PATH_ELOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_COLLAPSEALL_DISABLED, PATH_DLOCALTOOL + "collapseall.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ELCL_STOP, PATH_ELOCALTOOL + "stop.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ELCL_STOP_DISABLED, PATH_DLOCALTOOL + "stop.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_STOP, PATH_ELOCALTOOL + "stop.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ELCL_STOP_DISABLED, PATH_DLOCALTOOL + "stop.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_NEW_PAGE, PATH_EVIEW + "new_persp.gif", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_NEW_PAGE, PATH_EVIEW + "new_persp.gif", false); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_HOME_NAV, PATH_ELOCALTOOL + "home_nav.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_ETOOL_HOME_NAV_DISABLED, PATH_DLOCALTOOL + "home_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_HOME_NAV, PATH_ELOCALTOOL + "home_nav.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_HOME_NAV_DISABLED, PATH_DLOCALTOOL + "home_nav.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_ETOOL_DEF_PERSPECTIVE, PATH_EVIEW + "default_persp.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_ETOOL_DEF_PERSPECTIVE, PATH_EVIEW + "default_persp.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_NEW_WIZ, PATH_WIZBAN + "new_wiz.gif", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_NEW_WIZ, PATH_WIZBAN + "new_wiz.gif", false); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_IMPORT_WIZ, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_ETOOL_EXPORT_WIZ, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_IMPORT_WIZ, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_EXPORT_WIZ, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_IMPORT_PREF_WIZ, PATH_WIZBAN + "importpref_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_EXPORT_PREF_WIZ, PATH_WIZBAN + "exportpref_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_IMPORT_WIZ, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_ETOOL_EXPORT_WIZ, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_IMPORT_WIZ, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_EXPORT_WIZ, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_IMPORT_PREF_WIZ, PATH_WIZBAN + "importpref_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_EXPORT_PREF_WIZ, PATH_WIZBAN + "exportpref_wiz.png", false); //$NON-NLS-1$
 
 
-		declareImage(IWorkbenchGraphicConstants.IMG_WIZBAN_WORKINGSET_WIZ, PATH_WIZBAN + "workset_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_WIZBAN_WORKINGSET_WIZ, PATH_WIZBAN + "workset_wiz.png", false); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_VIEW_DEFAULTVIEW_MISC, PATH_EVIEW + "defaultview_misc.gif", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_VIEW_DEFAULTVIEW_MISC, PATH_EVIEW + "defaultview_misc.gif", false); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_FONT, PATH_OBJECT + "font.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_THEME_CATEGORY, PATH_OBJECT + "theme_category.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_ACTIVITY, PATH_OBJECT + "activity.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_ACTIVITY_CATEGORY, PATH_OBJECT + "activity_category.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_WORKING_SETS, PATH_OBJECT + "workingsets.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_FONT, PATH_OBJECT + "font.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_THEME_CATEGORY, PATH_OBJECT + "theme_category.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_ACTIVITY, PATH_OBJECT + "activity.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_ACTIVITY_CATEGORY, PATH_OBJECT + "activity_category.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_WORKING_SETS, PATH_OBJECT + "workingsets.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_SEPARATOR, PATH_OBJECT + "separator.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_SEPARATOR, PATH_OBJECT + "separator.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_NODE, PATH_OBJECT + "generic_elements.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_ELEMENT, PATH_OBJECT + "generic_element.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_NODE, PATH_OBJECT + "generic_elements.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_ELEMENT, PATH_OBJECT + "generic_element.gif", true); //$NON-NLS-1$
 
-		declareImage(ISharedImages.IMG_OBJ_ADD, PATH_OBJECT + "add_obj.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJ_FILE, PATH_OBJECT + "file_obj.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJ_FOLDER, PATH_OBJECT + "fldr_obj.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJ_ELEMENT, PATH_OBJECT + "elements_obj.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_DEF_VIEW, PATH_EVIEW + "defaultview_misc.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJ_ADD, PATH_OBJECT + "add_obj.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJ_FILE, PATH_OBJECT + "file_obj.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJ_FOLDER, PATH_OBJECT + "fldr_obj.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJ_ELEMENT, PATH_OBJECT + "elements_obj.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_DEF_VIEW, PATH_EVIEW + "defaultview_misc.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_CLOSE_VIEW, PATH_ELOCALTOOL + "close_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_PIN_VIEW, PATH_ELOCALTOOL + "pin_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_MIN_VIEW, PATH_ELOCALTOOL + "min_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_VIEW_MENU, PATH_ELOCALTOOL + "view_menu.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_BUTTON_MENU, PATH_ELOCALTOOL + "button_menu.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_LCL_LINKTO_HELP, PATH_ELOCALTOOL + "linkto_help.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_CLOSE_VIEW, PATH_ELOCALTOOL + "close_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_PIN_VIEW, PATH_ELOCALTOOL + "pin_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_MIN_VIEW, PATH_ELOCALTOOL + "min_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_VIEW_MENU, PATH_ELOCALTOOL + "view_menu.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_BUTTON_MENU, PATH_ELOCALTOOL + "button_menu.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_LCL_LINKTO_HELP, PATH_ELOCALTOOL + "linkto_help.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_CLOSE_VIEW_THIN, PATH_ELOCALTOOL + "thin_close_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_HIDE_TOOLBAR_THIN, PATH_ELOCALTOOL + "thin_hide_toolbar.gif", //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_CLOSE_VIEW_THIN, PATH_ELOCALTOOL + "thin_close_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_HIDE_TOOLBAR_THIN, PATH_ELOCALTOOL + "thin_hide_toolbar.gif", //$NON-NLS-1$
 				true);
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_MAX_VIEW_THIN, PATH_ELOCALTOOL + "thin_max_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_MIN_VIEW_THIN, PATH_ELOCALTOOL + "thin_min_view.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_RESTORE_VIEW_THIN, PATH_ELOCALTOOL + "thin_restore_view.gif", //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_MAX_VIEW_THIN, PATH_ELOCALTOOL + "thin_max_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_MIN_VIEW_THIN, PATH_ELOCALTOOL + "thin_min_view.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_RESTORE_VIEW_THIN, PATH_ELOCALTOOL + "thin_restore_view.gif", //$NON-NLS-1$
 				true);
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_SHOW_TOOLBAR_THIN, PATH_ELOCALTOOL + "thin_show_toolbar.gif", //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_SHOW_TOOLBAR_THIN, PATH_ELOCALTOOL + "thin_show_toolbar.gif", //$NON-NLS-1$
 				true);
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_VIEW_MENU_THIN, PATH_ELOCALTOOL + "thin_view_menu.gif", true); //$NON-NLS-1$
-
-		declareImage(ISharedImages.IMG_OBJS_ERROR_TSK, PATH_OBJECT + "error_tsk.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_WARN_TSK, PATH_OBJECT + "warn_tsk.gif", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_INFO_TSK, PATH_OBJECT + "info_tsk.gif", true); //$NON-NLS-1$
-
-		declareImage(ISharedImages.IMG_OBJS_DND_LEFT_SOURCE, PATH_POINTER + "left_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_LEFT_MASK, PATH_POINTER + "left_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_RIGHT_SOURCE, PATH_POINTER + "right_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_RIGHT_MASK, PATH_POINTER + "right_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_TOP_SOURCE, PATH_POINTER + "top_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_TOP_MASK, PATH_POINTER + "top_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_BOTTOM_SOURCE, PATH_POINTER + "bottom_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_BOTTOM_MASK, PATH_POINTER + "bottom_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_INVALID_SOURCE, PATH_POINTER + "invalid_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_INVALID_MASK, PATH_POINTER + "invalid_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_STACK_SOURCE, PATH_POINTER + "stack_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_STACK_MASK, PATH_POINTER + "stack_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_OFFSCREEN_SOURCE, PATH_POINTER + "offscreen_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_OFFSCREEN_MASK, PATH_POINTER + "offscreen_mask.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_TOFASTVIEW_SOURCE, PATH_POINTER + "tofastview_source.bmp", true); //$NON-NLS-1$
-		declareImage(ISharedImages.IMG_OBJS_DND_TOFASTVIEW_MASK, PATH_POINTER + "tofastview_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_VIEW_MENU_THIN, PATH_ELOCALTOOL + "thin_view_menu.gif", true); //$NON-NLS-1$
+
+		declareImage(images, ISharedImages.IMG_OBJS_ERROR_TSK, PATH_OBJECT + "error_tsk.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_WARN_TSK, PATH_OBJECT + "warn_tsk.gif", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_INFO_TSK, PATH_OBJECT + "info_tsk.gif", true); //$NON-NLS-1$
+
+		declareImage(images, ISharedImages.IMG_OBJS_DND_LEFT_SOURCE, PATH_POINTER + "left_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_LEFT_MASK, PATH_POINTER + "left_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_RIGHT_SOURCE, PATH_POINTER + "right_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_RIGHT_MASK, PATH_POINTER + "right_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_TOP_SOURCE, PATH_POINTER + "top_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_TOP_MASK, PATH_POINTER + "top_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_BOTTOM_SOURCE, PATH_POINTER + "bottom_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_BOTTOM_MASK, PATH_POINTER + "bottom_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_INVALID_SOURCE, PATH_POINTER + "invalid_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_INVALID_MASK, PATH_POINTER + "invalid_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_STACK_SOURCE, PATH_POINTER + "stack_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_STACK_MASK, PATH_POINTER + "stack_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_OFFSCREEN_SOURCE, PATH_POINTER + "offscreen_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_OFFSCREEN_MASK, PATH_POINTER + "offscreen_mask.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_TOFASTVIEW_SOURCE, PATH_POINTER + "tofastview_source.bmp", true); //$NON-NLS-1$
+		declareImage(images, ISharedImages.IMG_OBJS_DND_TOFASTVIEW_MASK, PATH_POINTER + "tofastview_mask.bmp", true); //$NON-NLS-1$
 
 		// signed jar images
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_YES, PATH_OBJECT + "signed_yes_tbl.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_NO, PATH_OBJECT + "signed_no_tbl.gif", true); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_UNKNOWN, PATH_OBJECT + "signed_unkn_tbl.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_YES, PATH_OBJECT + "signed_yes_tbl.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_NO, PATH_OBJECT + "signed_no_tbl.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_OBJ_SIGNED_UNKNOWN, PATH_OBJECT + "signed_unkn_tbl.gif", true); //$NON-NLS-1$
 
-		declareImage(IWorkbenchGraphicConstants.IMG_PREF_IMPORT, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
-		declareImage(IWorkbenchGraphicConstants.IMG_PREF_EXPORT, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_PREF_IMPORT, PATH_WIZBAN + "import_wiz.png", false); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_PREF_EXPORT, PATH_WIZBAN + "export_wiz.png", false); //$NON-NLS-1$
 
-		declareHoverImages();
+		declareHoverImages(images);
 
 		// Manually create the view menu
 
@@ -337,7 +405,7 @@ public/*final*/class WorkbenchImages {
 //		viewMenuMask.dispose();
 //
 //		getImageRegistry().put(IWorkbenchGraphicConstants.IMG_LCL_RENDERED_VIEW_MENU, vm2);
-		declareImage(IWorkbenchGraphicConstants.IMG_LCL_RENDERED_VIEW_MENU, PATH_EVIEW + "view_menu.gif", true); //$NON-NLS-1$
+		declareImage(images, IWorkbenchGraphicConstants.IMG_LCL_RENDERED_VIEW_MENU, PATH_EVIEW + "view_menu.gif", true); //$NON-NLS-1$
 
     }
 
@@ -348,26 +416,26 @@ public/*final*/class WorkbenchImages {
      * @deprecated As of 3.0, since the workbench itself no longer uses the hover image variants
      */
     @Deprecated
-	private static final void declareHoverImages() {
-        declareImage(ISharedImages.IMG_TOOL_UNDO_HOVER, PATH_ETOOL
+	private static final void declareHoverImages(DeclaredImages images) {
+        declareImage(images, ISharedImages.IMG_TOOL_UNDO_HOVER, PATH_ETOOL
         		+ "undo_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_REDO_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_REDO_HOVER, PATH_ETOOL
                 + "redo_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_CUT_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_CUT_HOVER, PATH_ETOOL
         		+ "cut_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_COPY_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_COPY_HOVER, PATH_ETOOL
                 + "copy_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_PASTE_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_PASTE_HOVER, PATH_ETOOL
                 + "paste_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_FORWARD_HOVER, PATH_ELOCALTOOL
+        declareImage(images, ISharedImages.IMG_TOOL_FORWARD_HOVER, PATH_ELOCALTOOL
                 + "forward_nav.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_DELETE_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_DELETE_HOVER, PATH_ETOOL
         		+ "delete_edit.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_NEW_WIZARD_HOVER, PATH_ETOOL
+        declareImage(images, ISharedImages.IMG_TOOL_NEW_WIZARD_HOVER, PATH_ETOOL
                         + "new_wiz.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_BACK_HOVER, PATH_ELOCALTOOL
+        declareImage(images, ISharedImages.IMG_TOOL_BACK_HOVER, PATH_ELOCALTOOL
         		+ "backward_nav.gif", true); //$NON-NLS-1$
-        declareImage(ISharedImages.IMG_TOOL_UP_HOVER, PATH_ELOCALTOOL
+        declareImage(images, ISharedImages.IMG_TOOL_UP_HOVER, PATH_ELOCALTOOL
                 + "up_nav.gif", true); //$NON-NLS-1$
     }
 
@@ -399,6 +467,14 @@ public/*final*/class WorkbenchImages {
      */
     public static void declareImage(String symbolicName,
             ImageDescriptor descriptor, boolean shared) {
+        checkDeclaredImage(symbolicName, descriptor);
+        getSessionDescriptors().put(symbolicName, descriptor);
+        if (shared) {
+            getImageRegistry().put(symbolicName, descriptor);
+        }
+    }
+
+    private static void checkDeclaredImage(String symbolicName, ImageDescriptor descriptor) {
         if (Policy.DEBUG_DECLARED_IMAGES) {
             Image image = descriptor.createImage(false);
             if (image == null) {
@@ -408,31 +484,56 @@ public/*final*/class WorkbenchImages {
                 image.dispose();
             }
         }
-        getDescriptors().put(symbolicName, descriptor);
-        if (shared) {
-            getImageRegistry().put(symbolicName, descriptor);
-        }
     }
 
     /**
-     * Returns the map from symbolic name to ImageDescriptor.
+     * Returns the map from symbolic name to ImageDescriptor. The map is a
+     * snapshot of the images declared by the workbench and by the
+     * application; use {@link #declareImage(String, ImageDescriptor, boolean)}
+     * to declare further images.
      *
      * @return the map from symbolic name to ImageDescriptor.
      */
     public static Map<String, ImageDescriptor> getDescriptors() {
+		Map<String, ImageDescriptor> descriptors = new HashMap<>(getDeclaredImages().descriptors);
+		descriptors.putAll(getSessionDescriptors());
+		return Collections.unmodifiableMap(descriptors);
+    }
+
+    private static Map<String, ImageDescriptor> getSessionDescriptors() {
 		// RAP [rh] imageRegistry and descriptors must have session scope
 //      if (descriptors == null) {
 //          initializeImageRegistry();
 //      }
 //      return descriptors;
-		Map descriptors = (Map) RWT.getUISession().getAttribute(DESCRIPTORS);
+		Map<String, ImageDescriptor> descriptors = (Map<String, ImageDescriptor>) RWT.getUISession()
+				.getAttribute(DESCRIPTORS);
 		if (descriptors == null) {
 			initializeImageRegistry();
-			descriptors = (Map) RWT.getUISession().getAttribute(DESCRIPTORS);
+			descriptors = (Map<String, ImageDescriptor>) RWT.getUISession().getAttribute(DESCRIPTORS);
 		}
 		return descriptors;
     }
 
+    /**
+     * Returns the images declared by the workbench, declaring them on first
+     * access.
+     */
+    private static DeclaredImages getDeclaredImages() {
+		DeclaredImages images = declaredImages;
+		if (images == null) {
+			synchronized (WorkbenchImages.class) {
+				images = declaredImages;
+				if (images == null) {
+					images = new DeclaredImages();
+					declareImages(images);
+					declaredImages = images;
+				}
+			}
+		}
+		return images;
+    }
+
     /**
      * Returns the image stored in the workbench plugin's image registry
      * under the given symbolic name.  If there isn't any value associated
@@ -464,7 +565,11 @@ public/*final*/class WorkbenchImages {
      * @return the image descriptor
      */
     public static ImageDescriptor getImageDescriptor(String symbolicName) {
-        return getDescriptors().get(symbolicName);
+        ImageDescriptor descriptor = getSessionDescriptors().get(symbolicName);
+        if (descriptor == null) {
+            descriptor = getDeclaredImages().descriptors.get(symbolicName);
+        }
+        return descriptor;
     }
 
 // RAP [rh] external programs not supported
@@ -520,7 +625,8 @@ public/*final*/class WorkbenchImages {
     }
 
     /**
-	 * Initialize the image registry by declaring all of the required graphics.
+	 * Initialize the image registry of the session. The required graphics are
+	 * declared once per application, see <code>getDeclaredImages()</code>.
 	 * This involves creating JFace image descriptors describing how to
 	 * create/find the image should it be needed. The image is not actually
 	 * allocated until requested.
@@ -542,12 +648,11 @@ public/*final*/class WorkbenchImages {
 // RAP [rh] imageRegistry and descriptors must have session scope
 //      imageRegistry = new ImageRegistry();
 //      descriptors = new HashMap();
-		ImageRegistry imageRegistry = new ImageRegistry();
+		ImageRegistry imageRegistry = new SessionImageRegistry(getDeclaredImages());
 		RWT.getUISession().setAttribute(IMAGE_REGISTRY, imageRegistry);
-		Map descriptors = new HashMap();
+		Map<String, ImageDescriptor> descriptors = new HashMap<>();
 		RWT.getUISession().setAttribute(DESCRIPTORS, descriptors);
 //End RAP specific
-        declareImages();
     }
 
     /**
@@ -35,6 +35,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -160,6 +161,7 @@ import org.eclipse.ui.internal.e4.compatibility.CompatibilityPart;
 import org.eclipse.ui.internal.e4.compatibility.CompatibilityView;
 import org.eclipse.ui.internal.e4.compatibility.ModeledPageLayout;
 import org.eclipse.ui.internal.e4.compatibility.SelectionService;
+import org.eclipse.ui.internal.menus.LegacyActionPersistence;
 import org.eclipse.ui.internal.menus.MenuHelper;
 import org.eclipse.ui.internal.misc.StatusUtil;
 import org.eclipse.ui.internal.misc.UIListenerLogging;
@@ -248,6 +250,20 @@ public class WorkbenchPage implements IWorkbenchPage {
 
 	ArrayList<MPart> activationList = new ArrayList<>();
 
+	/**
+	 * All editor references in activation order, most recently activated
+	 * first, followed by the editor references that were never activated.
+	 * Computed lazily and discarded when a part is activated, opened or
+	 * closed, see {@link #invalidateSortedReferences()}.
+	 */
+	private List<EditorReference> sortedEditorReferences;
+
+	/**
+	 * Maps the models of the editor references to the references, computed
+	 * lazily and discarded when an editor is opened or closed.
+	 */
+	private Map<MPart, EditorReference> editorReferencesByModel;
+
 	/**
 	 * Cached perspective stack for this workbench page.
 	 */
@@ -301,8 +317,11 @@ public class WorkbenchPage implements IWorkbenchPage {
 			deactivateLastEditor(part);
 		}
 
-		activationList.remove(part);
-		activationList.add(0, part);
+		if (activationList.isEmpty() || activationList.get(0) != part) {
+			activationList.remove(part);
+			activationList.add(0, part);
+			sortedEditorReferences = null;
+		}
 		updateActivePartSources(part);
 		updateActiveEditorSources(part);
 
@@ -326,8 +345,25 @@ public class WorkbenchPage implements IWorkbenchPage {
 		actionSwitcher.updateActivePart(workbenchPart);
 	}
 
+	/**
+	 * Reads the legacy editor and view actions targeting the given part. They
+	 * are only read once a part with that id becomes the active part or the
+	 * active editor, and must be read before the sources change.
+	 */
+	private void readPartContributions(IWorkbenchPart workbenchPart) {
+		if (workbenchPart == null) {
+			return;
+		}
+		LegacyActionPersistence actionPersistence = legacyWindow
+				.getService(LegacyActionPersistence.class);
+		if (actionPersistence != null) {
+			actionPersistence.readPartContributions(workbenchPart.getSite().getId());
+		}
+	}
+
 	private void updateActivePartSources(MPart part) {
 		IWorkbenchPart workbenchPart = getWorkbenchPart(part);
+		readPartContributions(workbenchPart);
 		IContextService cs = legacyWindow.getService(IContextService.class);
 		try {
 			cs.deferUpdates(true);
@@ -416,6 +452,7 @@ public class WorkbenchPage implements IWorkbenchPage {
 
 	private void updateActiveEditorSources(MPart part) {
 		IEditorPart editor = getEditor(part);
+		readPartContributions(editor);
 		window.getContext().set(ISources.ACTIVE_EDITOR_ID_NAME,
 				editor == null ? null : editor.getSite().getId());
 		window.getContext().set(ISources.ACTIVE_EDITOR_NAME, editor);
@@ -497,6 +534,7 @@ public class WorkbenchPage implements IWorkbenchPage {
 			} else {
 				activationList.add(part);
 			}
+			sortedEditorReferences = null;
 		}
 	}
 
@@ -884,8 +922,10 @@ public class WorkbenchPage implements IWorkbenchPage {
 			Object impl = changedPart.getObject();
 			if (impl != null && !(impl instanceof CompatibilityPart)) {
 				EditorReference eRef = getEditorReference(changedPart);
-				if (eRef != null)
+				if (eRef != null) {
 					editorReferences.remove(eRef);
+					invalidateSortedReferences();
+				}
 				ViewReference vRef = getViewReference(changedPart);
 				if (vRef != null)
 					viewReferences.remove(vRef);
@@ -1095,74 +1135,102 @@ public class WorkbenchPage implements IWorkbenchPage {
 
 	private List<EditorReference> getOrderedEditorReferences() {
 
-		List<EditorReference> editorRefs = new ArrayList<>();
+		Set<EditorReference> editorRefs = new LinkedHashSet<>();
 		List<MPart> visibleEditors = modelService.findElements(window, CompatibilityEditor.MODEL_ELEMENT_ID,
 				MPart.class, null);
 		for (MPart editor : visibleEditors) {
 			if (editor.isToBeRendered()) {
 				EditorReference ref = getEditorReference(editor);
-				if (ref != null && !editorRefs.contains(ref)) {
+				if (ref != null) {
 					editorRefs.add(ref);
 				}
 			}
 		}
 
-		return editorRefs;
+		return new ArrayList<>(editorRefs);
 	}
 
+	/**
+	 * Returns the editor references of the current perspective, most recently
+	 * activated first. The returned list must not be modified.
+	 *
+	 * @return the sorted editor references
+	 */
 	List<EditorReference> getSortedEditorReferences() {
 		return getSortedEditorReferences(false);
 	}
 
 	private List<EditorReference> getSortedEditorReferences(boolean allPerspectives) {
-		List<EditorReference> sortedReferences = new ArrayList<>();
-		for (MPart part : activationList) {
-			for (EditorReference ref : editorReferences) {
-				if (ref.getModel() == part) {
-					sortedReferences.add(ref);
-					break;
-				}
-			}
-		}
-
-		for (EditorReference ref : editorReferences) {
-			if (!sortedReferences.contains(ref)) {
-				sortedReferences.add(ref);
-			}
-		}
+		List<EditorReference> sortedReferences = getActivationOrderedEditorReferences();
 
 		MPerspective currentPerspective = getCurrentPerspective();
 		if (currentPerspective != null) {
 			int scope = allPerspectives ? WINDOW_SCOPE : EModelService.PRESENTATION;
 			List<MPart> placeholders = modelService.findElements(window,
 					CompatibilityEditor.MODEL_ELEMENT_ID, MPart.class, null, scope);
-			List<EditorReference> visibleReferences = new ArrayList<>();
+			Set<MPart> renderedPlaceholders = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (MPart placeholder : placeholders) {
+				// only rendered placeholders are valid references
+				if (placeholder.isToBeRendered()) {
+					renderedPlaceholders.add(placeholder);
+				}
+			}
+			List<EditorReference> visibleReferences = new ArrayList<>(renderedPlaceholders.size());
 			for (EditorReference reference : sortedReferences) {
-				for (MPart placeholder : placeholders) {
-					if (reference.getModel() == placeholder && placeholder.isToBeRendered()) {
-						// only rendered placeholders are valid references
-						visibleReferences.add(reference);
-					}
+				if (renderedPlaceholders.contains(reference.getModel())) {
+					visibleReferences.add(reference);
 				}
 			}
 
-			return visibleReferences;
+			return Collections.unmodifiableList(visibleReferences);
 		}
 
 		return sortedReferences;
 	}
 
+	/**
+	 * Returns all editor references in activation order. The ordering is only
+	 * computed again after a part has been activated, opened or closed.
+	 *
+	 * @return an unmodifiable list of all editor references
+	 */
+	private List<EditorReference> getActivationOrderedEditorReferences() {
+		List<EditorReference> sortedReferences = sortedEditorReferences;
+		if (sortedReferences == null) {
+			Map<MPart, EditorReference> referencesByModel = getEditorReferencesByModel();
+			Set<EditorReference> references = new LinkedHashSet<>();
+			for (MPart part : activationList) {
+				EditorReference ref = referencesByModel.get(part);
+				if (ref != null) {
+					references.add(ref);
+				}
+			}
+			references.addAll(editorReferences);
+			sortedReferences = Collections.unmodifiableList(new ArrayList<>(references));
+			sortedEditorReferences = sortedReferences;
+		}
+		return sortedReferences;
+	}
+
+	private Map<MPart, EditorReference> getEditorReferencesByModel() {
+		Map<MPart, EditorReference> referencesByModel = editorReferencesByModel;
+		if (referencesByModel == null) {
+			referencesByModel = new IdentityHashMap<>();
+			for (EditorReference ref : editorReferences) {
+				// the first reference wins, as in a linear search
+				referencesByModel.putIfAbsent(ref.getModel(), ref);
+			}
+			editorReferencesByModel = referencesByModel;
+		}
+		return referencesByModel;
+	}
+
 	public List<EditorReference> getInternalEditorReferences() {
 		return editorReferences;
 	}
 
 	public EditorReference getEditorReference(MPart part) {
-		for (EditorReference ref : editorReferences) {
-			if (ref.getModel() == part) {
-				return ref;
-			}
-		}
-		return null;
+		return getEditorReferencesByModel().get(part);
 	}
 
 	public ViewReference getViewReference(MPart part) {
@@ -1195,15 +1263,26 @@ public class WorkbenchPage implements IWorkbenchPage {
 		// Ensure that the page is up-to-date
 		if (curPage != this) {
 			curPage.editorReferences.remove(editorReference);
+			curPage.invalidateSortedReferences();
 			editorReference.setPage(this);
 		}
 
 		// Avoid dups
 		if (!editorReferences.contains(editorReference)) {
 			editorReferences.add(editorReference);
+			invalidateSortedReferences();
 		}
 	}
 
+	/**
+	 * Discards the cached orderings of the editor references. Must be called
+	 * whenever an editor reference is added or removed.
+	 */
+	private void invalidateSortedReferences() {
+		sortedEditorReferences = null;
+		editorReferencesByModel = null;
+	}
+
 	MPartDescriptor findDescriptor(String id) {
 		return modelService.getPartDescriptor(id);
 	}
@@ -1802,6 +1881,7 @@ public class WorkbenchPage implements IWorkbenchPage {
 			er.setPage(null);
 		}
 		editorReferences.clear();
+		invalidateSortedReferences();
 		sortedPerspectives.clear();
 		modelToPerspectiveMapping.clear();
 
@@ -1837,6 +1917,7 @@ public class WorkbenchPage implements IWorkbenchPage {
 		actionSwitcher.activePart = null;
 		actionSwitcher.topEditor = null;
 		activationList.clear();
+		sortedEditorReferences = null;
 		aggregateWorkingSet = null;
 		application = null;
 		broker = null;
@@ -2401,45 +2482,32 @@ public class WorkbenchPage implements IWorkbenchPage {
 			return new IWorkbenchPartReference[0];
 		}
 
-		List<IWorkbenchPartReference> sortedReferences = new ArrayList<>();
-		IViewReference[] viewReferences = getViewReferences(allPerspectives);
-		List<EditorReference> editorReferences = getSortedEditorReferences(allPerspectives);
-
-		activationLoop: for (MPart part : activationList) {
-			if (views) {
-				for (IViewReference ref : viewReferences) {
-					if (((ViewReference) ref).getModel() == part) {
-						sortedReferences.add(ref);
-						continue activationLoop;
-					}
-				}
-			}
-
-			if (editors) {
-				for (EditorReference ref : editorReferences) {
-					if (ref.getModel() == part) {
-						sortedReferences.add(ref);
-						break;
-					}
-				}
-			}
+		List<EditorReference> editorReferences = editors ? getSortedEditorReferences(allPerspectives)
+				: Collections.<EditorReference> emptyList();
+		if (!views) {
+			// the editor references are already in activation order
+			return editorReferences.toArray(new IWorkbenchPartReference[editorReferences.size()]);
 		}
 
-		if (views) {
-			for (IViewReference ref : viewReferences) {
-				if (!sortedReferences.contains(ref)) {
-					sortedReferences.add(ref);
-				}
-			}
+		IViewReference[] viewReferences = getViewReferences(allPerspectives);
+		Map<MPart, IWorkbenchPartReference> referencesByModel = new IdentityHashMap<>();
+		for (IViewReference ref : viewReferences) {
+			referencesByModel.putIfAbsent(((ViewReference) ref).getModel(), ref);
+		}
+		for (EditorReference ref : editorReferences) {
+			// views take precedence over editors for the same model
+			referencesByModel.putIfAbsent(ref.getModel(), ref);
 		}
 
-		if (editors) {
-			for (EditorReference ref : editorReferences) {
-				if (!sortedReferences.contains(ref)) {
-					sortedReferences.add(ref);
-				}
+		Set<IWorkbenchPartReference> sortedReferences = new LinkedHashSet<>();
+		for (MPart part : activationList) {
+			IWorkbenchPartReference ref = referencesByModel.get(part);
+			if (ref != null) {
+				sortedReferences.add(ref);
 			}
 		}
+		sortedReferences.addAll(Arrays.asList(viewReferences));
+		sortedReferences.addAll(editorReferences);
 
 		return sortedReferences.toArray(new IWorkbenchPartReference[sortedReferences.size()]);
 	}
@@ -2913,52 +2981,53 @@ public class WorkbenchPage implements IWorkbenchPage {
 	 */
 	private void extendPerspectives(MPerspectiveStack perspectiveStack) {
 		for (MPerspective perspective : perspectiveStack.getChildren()) {
-			String id = perspective.getElementId();
-			IPerspectiveDescriptor desc = getWorkbenchWindow().getWorkbench()
-					.getPerspectiveRegistry().findPerspectiveWithId(id);
-			if (desc != null) {
-				MPerspective temporary = modelService.createModelElement(MPerspective.class);
-				ModeledPageLayout modelLayout = new ModeledPageLayout(window, modelService,
-						partService, temporary, desc, this, true);
-
-				PerspectiveExtensionReader reader = new PerspectiveExtensionReader();
-				reader.setIncludeOnlyTags(new String[] { IWorkbenchRegistryConstants.TAG_ACTION_SET });
-				reader.extendLayout(null, id, modelLayout);
-
-				addActionSet(perspective, temporary);
+			List<String> actionSetIds = getPerspectiveExtensionActionSets(perspective.getElementId());
+			if (actionSetIds != null) {
+				addActionSets(perspective, actionSetIds);
 			}
 		}
 	}
 
+	/**
+	 * Returns the ids of the action sets a new perspective with the given id
+	 * would start with: the initially visible action sets followed by the
+	 * action sets contributed through the <code>perspectiveExtensions</code>
+	 * extension point.
+	 *
+	 * @param id
+	 *            the perspective id
+	 * @return the action set ids, or <code>null</code> if there is no such
+	 *         perspective
+	 */
 	ArrayList<String> getPerspectiveExtensionActionSets(String id) {
 		IPerspectiveDescriptor desc = getWorkbenchWindow().getWorkbench().getPerspectiveRegistry()
 				.findPerspectiveWithId(id);
 		if (desc != null) {
-			MPerspective temporary = modelService.createModelElement(MPerspective.class);
-			ModeledPageLayout modelLayout = new ModeledPageLayout(window, modelService,
-					partService, temporary, desc, this, true);
-
-			PerspectiveExtensionReader reader = new PerspectiveExtensionReader();
-			reader.setIncludeOnlyTags(new String[] { IWorkbenchRegistryConstants.TAG_ACTION_SET });
-			reader.extendLayout(null, id, modelLayout);
-			return new ArrayList<>(ModeledPageLayout.getIds(temporary, ModeledPageLayout.ACTION_SET_TAG));
+			ArrayList<String> actionSetIds = new ArrayList<>();
+			ActionSetRegistry registry = WorkbenchPlugin.getDefault().getActionSetRegistry();
+			for (IActionSetDescriptor actionSetDescriptor : registry.getActionSets()) {
+				if (actionSetDescriptor.isInitiallyVisible()) {
+					actionSetIds.add(actionSetDescriptor.getId());
+				}
+			}
+			actionSetIds.addAll(PerspectiveExtensionReader.getActionSetIds(id));
+			return actionSetIds;
 		}
 		return null;
 	}
 
 	/**
-	 * Copies action set extensions from the temporary perspective to the other
-	 * one.
+	 * Adds the given action sets to the perspective, unless already present.
 	 *
 	 * @param perspective
-	 *            the perspective to copy action set contributions to
-	 * @param temporary
-	 *            the perspective to copy action set contributions from
+	 *            the perspective to add action set contributions to
+	 * @param actionSetIds
+	 *            the ids of the action sets to add
 	 */
-	private void addActionSet(MPerspective perspective, MPerspective temporary) {
+	private void addActionSets(MPerspective perspective, List<String> actionSetIds) {
 		List<String> tags = perspective.getTags();
-		List<String> extendedTags = temporary.getTags();
-		for (String extendedTag : extendedTags) {
+		for (String actionSetId : actionSetIds) {
+			String extendedTag = ModeledPageLayout.ACTION_SET_TAG + actionSetId;
 			if (!tags.contains(extendedTag)) {
 				tags.add(extendedTag);
 			}
@@ -5273,6 +5342,7 @@ public class WorkbenchPage implements IWorkbenchPage {
 				break;
 			}
 		}
+		invalidateSortedReferences();
 
 		MPart activePart = partService.getActivePart();
 		if (activePart == null) {
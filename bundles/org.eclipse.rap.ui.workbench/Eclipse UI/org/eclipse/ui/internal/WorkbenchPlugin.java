@@ -66,6 +66,8 @@ import org.eclipse.ui.internal.help.CommandHelpServiceImpl;
 import org.eclipse.ui.internal.help.HelpServiceImpl;
 import org.eclipse.ui.internal.intro.IIntroRegistry;
 import org.eclipse.ui.internal.intro.IntroRegistry;
+import org.eclipse.ui.internal.menus.ControlContributionRegistry;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.misc.StatusUtil;
 import org.eclipse.ui.internal.operations.WorkbenchOperationSupport;
 import org.eclipse.ui.internal.progress.ProgressManager;
@@ -74,6 +76,7 @@ import org.eclipse.ui.internal.registry.EditorRegistry;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.internal.registry.PerspectiveRegistry;
 import org.eclipse.ui.internal.registry.PreferencePageRegistryReader;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
 import org.eclipse.ui.internal.registry.ViewRegistry;
 import org.eclipse.ui.internal.registry.WorkingSetRegistry;
 import org.eclipse.ui.internal.themes.IThemeRegistry;
@@ -806,6 +809,11 @@ public class WorkbenchPlugin extends AbstractUIPlugin {
 			httpServiceTracker.open();
 		}
 
+		// RAP read the registry data shared by all sessions ahead of the first session
+		if (RWTProperties.getBooleanProperty(SharedRegistryWarmUp.PROP_WARM_UP, false)) {
+			SharedRegistryWarmUp.schedule();
+		}
+
 //        // The UI plugin needs to be initialized so that it can install the callback in PrefUtil,
 //        // which needs to be done as early as possible, before the workbench
 //        // accesses any API preferences.
@@ -1101,6 +1109,10 @@ public class WorkbenchPlugin extends AbstractUIPlugin {
 			testableTracker.close();
 			testableTracker = null;
 		}
+		SharedRegistryWarmUp.dispose();
+		SharedRegistryCaches.dispose();
+		ControlContributionRegistry.clear();
+		StartupProfiler.dispose();
 		super.stop(context);
 	}
 
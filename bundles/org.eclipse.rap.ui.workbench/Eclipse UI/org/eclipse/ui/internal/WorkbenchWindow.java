@@ -182,6 +182,7 @@ import org.eclipse.ui.internal.menus.IActionSetsListener;
 import org.eclipse.ui.internal.menus.LegacyActionPersistence;
 import org.eclipse.ui.internal.menus.MenuHelper;
 import org.eclipse.ui.internal.menus.SlaveMenuService;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.misc.UIListenerLogging;
 import org.eclipse.ui.internal.progress.ProgressRegion;
 import org.eclipse.ui.internal.provisional.application.IActionBarConfigurer2;
@@ -477,6 +478,7 @@ public class WorkbenchWindow implements IWorkbenchWindow {
 
 	@PostConstruct
 	public void setup() {
+		StartupProfiler.Phase phase = StartupProfiler.start("WorkbenchWindow.setup"); //$NON-NLS-1$
 		try {
 			// if workbench window is opened as a result of command execution,
 			// the context in which the new workbench window's commands are
@@ -805,9 +807,9 @@ public class WorkbenchWindow implements IWorkbenchWindow {
 //					}
 //				}
 //			});
-
 		} finally {
 			HandlerServiceImpl.pop(model.getContext());
+			phase.end();
 		}
 	}
 
@@ -1441,6 +1443,14 @@ STATUS_LINE_ID, model);
 	 */
 	private int largeUpdates = 0;
 
+	/**
+	 * Whether an update of the action bars has been requested and not been
+	 * performed yet.
+	 */
+	private boolean actionBarsUpdatePending;
+
+	private final Runnable actionBarsUpdater = this::flushActionBars;
+
 	private IExtensionTracker tracker;
 
 	private void firePageClosed() {
@@ -2385,9 +2395,34 @@ STATUS_LINE_ID, model);
 	}
 
 	/**
-	 * update the action bars.
+	 * Update the action bars. The update is performed asynchronously, so that
+	 * all requests made while processing one user interaction result in a
+	 * single update.
+	 *
+	 * @see #flushActionBars()
 	 */
 	public void updateActionBars() {
+		if (getShell() == null || getShell().isDisposed() || updateDisabled || updatesDeferred()) {
+			return;
+		}
+		if (!actionBarsUpdatePending) {
+			actionBarsUpdatePending = true;
+			getShell().getDisplay().asyncExec(actionBarsUpdater);
+		}
+	}
+
+	/**
+	 * Perform a pending update of the action bars right away. Does nothing if
+	 * no update has been requested since the last one.
+	 *
+	 * @see #updateActionBars()
+	 */
+	public void flushActionBars() {
+		if (!actionBarsUpdatePending) {
+			return;
+		}
+		actionBarsUpdatePending = false;
+		// a large update ending will request another update
 		if (getShell() == null || getShell().isDisposed() || updateDisabled || updatesDeferred()) {
 			return;
 		}
@@ -2827,7 +2862,12 @@ STATUS_LINE_ID, model);
 
 		final LegacyActionPersistence actionPersistence = new LegacyActionPersistence(this);
 		serviceLocator.registerService(LegacyActionPersistence.class, actionPersistence);
-		actionPersistence.read();
+		StartupProfiler.Phase phase = StartupProfiler.start("LegacyActionPersistence.read"); //$NON-NLS-1$
+		try {
+			actionPersistence.read();
+		} finally {
+			phase.end();
+		}
 
 		ICommandService cmdService = workbench.getService(ICommandService.class);
 		SlaveCommandService slaveCmdService = new SlaveCommandService(cmdService,
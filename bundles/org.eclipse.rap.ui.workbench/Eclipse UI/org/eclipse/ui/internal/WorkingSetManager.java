@@ -17,11 +17,26 @@ package org.eclipse.ui.internal;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.service.SettingStore;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.service.UISessionEvent;
+import org.eclipse.rap.rwt.service.UISessionListener;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IMemento;
+import org.eclipse.ui.IPersistableElement;
 import org.eclipse.ui.IWorkingSet;
 import org.eclipse.ui.IWorkingSetManager;
 import org.eclipse.ui.WorkbenchException;
@@ -35,7 +50,13 @@ import org.osgi.framework.BundleListener;
 /**
  * A working set manager stores working sets and provides property change
  * notification when a working set is added or removed. Working sets are
- * persisted whenever one is added or removed.
+ * persisted shortly after one is added, removed or changed.
+ * <p>
+ * RAP: every working set is stored under its own key in the setting store,
+ * next to an index of the working sets and the MRU list. Saves requested in
+ * the UI thread are coalesced and written after a short delay, or when the
+ * session ends, and only keys whose content changed are written.
+ * </p>
  *
  * @see IWorkingSetManager
  * @since 2.0
@@ -49,6 +70,26 @@ public class WorkingSetManager extends AbstractWorkingSetManager implements
 	// RAP [rh]: key for storing state into setting store
 	private static final String KEY_WORKING_SET_MANAGER_STATE = WorkingSetManager.class.getName() + "#XMLMemento";
 
+	// key of the index of the working sets and the MRU list
+	private static final String KEY_WORKING_SET_INDEX = WorkingSetManager.class.getName() + "#index"; //$NON-NLS-1$
+
+	// prefix of the keys of the working sets, followed by their unique id
+	private static final String KEY_WORKING_SET_PREFIX = WorkingSetManager.class.getName() + "#workingSet#"; //$NON-NLS-1$
+
+	// delay in milliseconds by which saves are coalesced
+	private static final int SAVE_DELAY = 1000;
+
+	/**
+	 * The serialized state of the working sets, computed on save and discarded
+	 * when a working set changes.
+	 */
+	private final Map<IWorkingSet, String> workingSetStates = new IdentityHashMap<>();
+
+	/**
+	 * The setting stores with a save scheduled but not yet written.
+	 */
+	private final Set<SettingStore> pendingSaves = new HashSet<>();
+
 	private boolean restoreInProgress;
 
 	private boolean savePending;
@@ -88,10 +129,19 @@ public class WorkingSetManager extends AbstractWorkingSetManager implements
 	@Override
 	public void removeWorkingSet(IWorkingSet workingSet) {
 		if (internalRemoveWorkingSet(workingSet)) {
+			synchronized (this) {
+				workingSetStates.remove(workingSet);
+			}
 			saveState();
 		}
 	}
 
+	@Override
+	public void dispose() {
+		flushPendingSaves();
+		super.dispose();
+	}
+
 	/**
 	 * Reads the persistence store and creates the working sets stored in it.
 	 */
@@ -99,39 +149,109 @@ public class WorkingSetManager extends AbstractWorkingSetManager implements
 		// RAP [rh] reading from state-location does not work with multiple sessions
 //				File stateFile = getWorkingSetStateFile();
 		SettingStore settingStore = RWT.getSettingStore();
+		String index = settingStore.getAttribute(KEY_WORKING_SET_INDEX);
 		String state = settingStore.getAttribute(KEY_WORKING_SET_MANAGER_STATE);
 
-//				if (stateFile != null && stateFile.exists()) {
-		if (state != null) {
-			try {
+		try {
+			if (index != null) {
+				IMemento indexMemento = XMLMemento.createReadRoot(new StringReader(index));
+				restoreWorkingSetState(readWorkingSets(settingStore, indexMemento));
+				restoreMruList(indexMemento);
+			} else if (state != null) {
+				// state saved as a single memento by previous versions
 				// RAP [rh] replaced InputStream/Reader with Reader that reads from SettingStore
 				// attribute
-//						FileInputStream input = new FileInputStream(stateFile);
-//		        BufferedReader reader = new BufferedReader(
-//		             new InputStreamReader(input, "utf-8")); //$NON-NLS-1$
 				StringReader reader = new StringReader(state);
 
 				IMemento memento = XMLMemento.createReadRoot(reader);
 				restoreWorkingSetState(memento);
 				restoreMruList(memento);
 				reader.close();
-				// RAP [rh] unreachable catch-block, since no IOException is thrown
-//					} catch (IOException e) {
-//						handleInternalError(
-//								e,
-//								WorkbenchMessages.get().ProblemRestoringWorkingSetState_title,
-//								WorkbenchMessages.get().ProblemRestoringWorkingSetState_message);
+			}
+		} catch (WorkbenchException e) {
+			handleInternalError(e, WorkbenchMessages.get().ProblemRestoringWorkingSetState_title,
+					WorkbenchMessages.get().ProblemRestoringWorkingSetState_message);
+		}
+	}
+
+	/**
+	 * Collects the working sets listed in the index into a single memento, as
+	 * written by {@link #saveWorkingSetState(IMemento)}.
+	 */
+	private IMemento readWorkingSets(SettingStore settingStore, IMemento indexMemento) {
+		XMLMemento memento = XMLMemento.createWriteRoot(IWorkbenchConstants.TAG_WORKING_SET_MANAGER);
+		for (IMemento child : indexMemento.getChildren(IWorkbenchConstants.TAG_WORKING_SET)) {
+			String workingSetState = settingStore.getAttribute(KEY_WORKING_SET_PREFIX
+					+ child.getString(IWorkbenchConstants.TAG_ID));
+			if (workingSetState == null) {
+				continue;
+			}
+			try {
+				IMemento workingSetMemento = XMLMemento.createReadRoot(new StringReader(workingSetState));
+				memento.createChild(IWorkbenchConstants.TAG_WORKING_SET).putMemento(workingSetMemento);
 			} catch (WorkbenchException e) {
 				handleInternalError(e, WorkbenchMessages.get().ProblemRestoringWorkingSetState_title,
 						WorkbenchMessages.get().ProblemRestoringWorkingSetState_message);
 			}
 		}
-			}
+		return memento;
+	}
 
 	/**
-	 * Saves the working sets in the persistence store
+	 * Saves the working sets in the persistence store. In the UI thread, the
+	 * save is scheduled and coalesced with further saves of the same session.
 	 */
 	private void saveState() {
+		SettingStore settingStore = RWT.getSettingStore();
+		Display display = Display.getCurrent();
+		if (display == null) {
+			writeState(settingStore);
+			return;
+		}
+		synchronized (pendingSaves) {
+			if (!pendingSaves.add(settingStore)) {
+				return;
+			}
+		}
+		final UISession uiSession = RWT.getUISession(display);
+		final UISessionListener flushListener = new UISessionListener() {
+			@Override
+			public void beforeDestroy(UISessionEvent event) {
+				flushPendingSave(settingStore);
+			}
+		};
+		uiSession.addUISessionListener(flushListener);
+		display.timerExec(SAVE_DELAY, () -> {
+			uiSession.removeUISessionListener(flushListener);
+			flushPendingSave(settingStore);
+		});
+	}
+
+	private void flushPendingSave(SettingStore settingStore) {
+		synchronized (pendingSaves) {
+			if (!pendingSaves.remove(settingStore)) {
+				return;
+			}
+		}
+		writeState(settingStore);
+	}
+
+	private void flushPendingSaves() {
+		List<SettingStore> settingStores;
+		synchronized (pendingSaves) {
+			settingStores = new ArrayList<>(pendingSaves);
+		}
+		for (SettingStore settingStore : settingStores) {
+			flushPendingSave(settingStore);
+		}
+	}
+
+	/**
+	 * Writes the working sets to the given setting store. Only the keys whose
+	 * content changed are written, and the keys of removed working sets are
+	 * removed.
+	 */
+	private synchronized void writeState(SettingStore settingStore) {
 
 // RAP [rh]	cannot save state to state-location in multi-session environment
 //		File stateFile = getWorkingSetStateFile();
@@ -147,22 +267,100 @@ public class WorkingSetManager extends AbstractWorkingSetManager implements
 //					WorkbenchMessages.get().ProblemSavingWorkingSetState_message);
 //		}
 
-// RAP [rh] copied from AbstractWorkingSetManager#saveState(File)	  
-		XMLMemento memento = XMLMemento.createWriteRoot(IWorkbenchConstants.TAG_WORKING_SET_MANAGER);
-		saveWorkingSetState(memento);
-		saveMruList(memento);
+		// aggregates are listed after the other working sets so that their
+		// components exist when they are restored
+		List<IWorkingSet> standardSets = new ArrayList<>();
+		List<IWorkingSet> aggregateSets = new ArrayList<>();
+		for (IWorkingSet workingSet : getAllWorkingSets()) {
+			if (workingSet instanceof AggregateWorkingSet) {
+				aggregateSets.add(workingSet);
+			} else {
+				standardSets.add(workingSet);
+			}
+		}
+		standardSets.addAll(aggregateSets);
+
+		XMLMemento index = XMLMemento.createWriteRoot(IWorkbenchConstants.TAG_WORKING_SET_MANAGER);
+		Map<String, String> states = new LinkedHashMap<>();
+		for (IWorkingSet workingSet : standardSets) {
+			String workingSetState = getWorkingSetState(workingSet);
+			if (workingSetState != null) {
+				String uniqueId = ((AbstractWorkingSet) workingSet).getUniqueId();
+				index.createChild(IWorkbenchConstants.TAG_WORKING_SET).putString(IWorkbenchConstants.TAG_ID,
+						uniqueId);
+				states.put(KEY_WORKING_SET_PREFIX + uniqueId, workingSetState);
+			}
+		}
+		saveMruList(index);
 // RAP [rh] store state in SettingStore instead
 		try {
-			StringWriter writer = new StringWriter();
-			memento.save(writer);
-			writer.close();
-			SettingStore settingStore = RWT.getSettingStore();
-			settingStore.setAttribute(KEY_WORKING_SET_MANAGER_STATE, writer.toString());
+			Set<String> obsoleteKeys = new HashSet<>();
+			Enumeration<String> names = settingStore.getAttributeNames();
+			while (names.hasMoreElements()) {
+				String name = names.nextElement();
+				if (name.startsWith(KEY_WORKING_SET_PREFIX)) {
+					obsoleteKeys.add(name);
+				}
+			}
+			// write the working sets before the index that refers to them
+			for (Entry<String, String> entry : states.entrySet()) {
+				obsoleteKeys.remove(entry.getKey());
+				setAttributeIfChanged(settingStore, entry.getKey(), entry.getValue());
+			}
+			setAttributeIfChanged(settingStore, KEY_WORKING_SET_INDEX, serialize(index));
+			for (String key : obsoleteKeys) {
+				settingStore.removeAttribute(key);
+			}
+			if (settingStore.getAttribute(KEY_WORKING_SET_MANAGER_STATE) != null) {
+				settingStore.removeAttribute(KEY_WORKING_SET_MANAGER_STATE);
+			}
 		} catch (IOException ioe) {
 			WorkbenchPlugin.log(WorkbenchMessages.get().ProblemSavingWorkingSetState_title, ioe);
 		}
 	}
 
+	private static void setAttributeIfChanged(SettingStore settingStore, String key, String value)
+			throws IOException {
+		if (!value.equals(settingStore.getAttribute(key))) {
+			settingStore.setAttribute(key, value);
+		}
+	}
+
+	/**
+	 * Returns the serialized state of the given working set, or
+	 * <code>null</code> if it could not be saved. The state is computed again
+	 * only after the working set changed.
+	 */
+	private String getWorkingSetState(final IWorkingSet workingSet) {
+		String workingSetState = workingSetStates.get(workingSet);
+		if (workingSetState == null) {
+			final String[] result = new String[1];
+			SafeRunner.run(new WorkingSetRunnable() {
+
+				@Override
+				public void run() throws Exception {
+					IPersistableElement persistable = workingSet;
+					XMLMemento memento = XMLMemento.createWriteRoot(IWorkbenchConstants.TAG_WORKING_SET);
+					memento.putString(IWorkbenchConstants.TAG_FACTORY_ID, persistable.getFactoryId());
+					persistable.saveState(memento);
+					result[0] = serialize(memento);
+				}
+			});
+			workingSetState = result[0];
+			if (workingSetState != null) {
+				workingSetStates.put(workingSet, workingSetState);
+			}
+		}
+		return workingSetState;
+	}
+
+	private static String serialize(XMLMemento memento) throws IOException {
+		StringWriter writer = new StringWriter();
+		memento.save(writer);
+		writer.close();
+		return writer.toString();
+	}
+
 	/**
 	 * Persists all working sets and fires a property change event for the
 	 * changed working set. Should only be called by
@@ -177,6 +375,14 @@ public class WorkingSetManager extends AbstractWorkingSetManager implements
 	@Override
 	public void workingSetChanged(IWorkingSet changedWorkingSet,
 			String propertyChangeId, Object oldValue) {
+		synchronized (this) {
+			if (CHANGE_WORKING_SET_NAME_CHANGE.equals(propertyChangeId)) {
+				// aggregates refer to their components by name
+				workingSetStates.clear();
+			} else {
+				workingSetStates.remove(changedWorkingSet);
+			}
+		}
 		saveState();
 		super.workingSetChanged(changedWorkingSet, propertyChangeId, oldValue);
 	}
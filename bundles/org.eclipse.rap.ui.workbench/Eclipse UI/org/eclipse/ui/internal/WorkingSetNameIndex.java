@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.ui.IWorkingSet;
+
+/**
+ * The working sets of an {@link AbstractWorkingSetManager} by name. If several
+ * working sets have the same name, the first one in the iteration order of the
+ * manager's working sets is found.
+ */
+final class WorkingSetNameIndex {
+
+	private final Collection<? extends IWorkingSet> workingSets;
+
+	private final Map<String, IWorkingSet> workingSetsByName = new HashMap<>();
+
+	/**
+	 * @param workingSets
+	 *            the working sets held by the manager, the index is only
+	 *            updated through the methods of this class
+	 */
+	WorkingSetNameIndex(Collection<? extends IWorkingSet> workingSets) {
+		this.workingSets = workingSets;
+	}
+
+	IWorkingSet get(String name) {
+		return workingSetsByName.get(name);
+	}
+
+	/**
+	 * Must be called after the working set was added to the manager.
+	 */
+	void added(IWorkingSet workingSet) {
+		workingSetsByName.putIfAbsent(workingSet.getName(), workingSet);
+	}
+
+	/**
+	 * Must be called after the working set was removed from the manager.
+	 */
+	void removed(IWorkingSet workingSet) {
+		reindex(workingSet.getName());
+	}
+
+	/**
+	 * Must be called after the working set was renamed. Working sets that are
+	 * not held by the manager are ignored, they may still report their changes
+	 * to it after they have been removed.
+	 *
+	 * @param workingSet
+	 *            the renamed working set
+	 * @param oldName
+	 *            the name of the working set before it was renamed
+	 */
+	void renamed(IWorkingSet workingSet, String oldName) {
+		if (!isHeld(workingSet)) {
+			return;
+		}
+		reindex(oldName);
+		workingSetsByName.putIfAbsent(workingSet.getName(), workingSet);
+	}
+
+	private boolean isHeld(IWorkingSet workingSet) {
+		for (IWorkingSet held : workingSets) {
+			if (held == workingSet) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Another working set with the given name takes the place of the one that
+	 * no longer uses it, if any.
+	 */
+	private void reindex(String name) {
+		workingSetsByName.remove(name);
+		for (IWorkingSet workingSet : workingSets) {
+			if (name.equals(workingSet.getName())) {
+				workingSetsByName.put(name, workingSet);
+				break;
+			}
+		}
+	}
+}
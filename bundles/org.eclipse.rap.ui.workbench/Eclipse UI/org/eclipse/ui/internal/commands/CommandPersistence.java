@@ -15,14 +15,18 @@
 package org.eclipse.ui.internal.commands;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import org.eclipse.core.commands.AbstractParameterValueConverter;
 import org.eclipse.core.commands.Category;
 import org.eclipse.core.commands.Command;
 import org.eclipse.core.commands.CommandManager;
 import org.eclipse.core.commands.ParameterType;
-import org.eclipse.core.commands.State;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionDelta;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -31,9 +35,12 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.commands.internal.HandlerServiceImpl;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.internal.workbench.Parameter;
+import org.eclipse.osgi.service.localization.LocaleProvider;
+import org.eclipse.rap.ui.internal.SessionLocaleProvider;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
 import org.eclipse.ui.internal.services.RegistryPersistence;
 import org.eclipse.ui.internal.util.PrefUtil;
 
@@ -71,6 +78,109 @@ public final class CommandPersistence extends RegistryPersistence {
     @Inject
     private IEclipseContext context;
 
+	/**
+	 * Provides the locale the registry attributes are translated to.
+	 */
+	private static final LocaleProvider LOCALE_PROVIDER = new SessionLocaleProvider();
+
+	/**
+	 * The definitions read from the registry, per locale of the translated
+	 * names and descriptions. They are shared by all sessions and discarded
+	 * when the command extensions change.
+	 */
+	private static final Map<Locale, Definitions> definitionsByLocale = new ConcurrentHashMap<>();
+
+	/**
+	 * The immutable result of reading the commands and action definitions
+	 * extension points, in registry order.
+	 */
+	private static final class Definitions {
+		final CategoryDefinition[] categories;
+		final CommandDefinition[] commands;
+		final ParameterTypeDefinition[] parameterTypes;
+
+		Definitions(CategoryDefinition[] categories, CommandDefinition[] commands,
+				ParameterTypeDefinition[] parameterTypes) {
+			this.categories = categories;
+			this.commands = commands;
+			this.parameterTypes = parameterTypes;
+		}
+	}
+
+	private static final class CategoryDefinition {
+		final String id;
+		final String name;
+		final String description;
+
+		CategoryDefinition(String id, String name, String description) {
+			this.id = id;
+			this.name = name;
+			this.description = description;
+		}
+	}
+
+	private static final class CommandDefinition {
+		final String id;
+		final String name;
+		final String description;
+		final String categoryId;
+		final ParameterDefinition[] parameters;
+		final String returnTypeId;
+		final String helpContextId;
+		final StateDefinition[] states;
+
+		CommandDefinition(String id, String name, String description, String categoryId,
+				ParameterDefinition[] parameters, String returnTypeId, String helpContextId,
+				StateDefinition[] states) {
+			this.id = id;
+			this.name = name;
+			this.description = description;
+			this.categoryId = categoryId;
+			this.parameters = parameters;
+			this.returnTypeId = returnTypeId;
+			this.helpContextId = helpContextId;
+			this.states = states;
+		}
+	}
+
+	private static final class ParameterDefinition {
+		final String id;
+		final String name;
+		final IConfigurationElement element;
+		final String typeId;
+		final boolean optional;
+
+		ParameterDefinition(String id, String name, IConfigurationElement element, String typeId,
+				boolean optional) {
+			this.id = id;
+			this.name = name;
+			this.element = element;
+			this.typeId = typeId;
+			this.optional = optional;
+		}
+	}
+
+	private static final class StateDefinition {
+		final String id;
+		final IConfigurationElement element;
+
+		StateDefinition(String id, IConfigurationElement element) {
+			this.id = id;
+			this.element = element;
+		}
+	}
+
+	private static final class ParameterTypeDefinition {
+		final String id;
+		final String type;
+		final IConfigurationElement converterElement;
+
+		ParameterTypeDefinition(String id, String type, IConfigurationElement converterElement) {
+			this.id = id;
+			this.type = type;
+			this.converterElement = converterElement;
+		}
+	}
 
 	/**
 	 * Reads all of the category definitions from the commands extension point.
@@ -81,23 +191,14 @@ public final class CommandPersistence extends RegistryPersistence {
 	 * @param configurationElementCount
 	 *            The number of configuration elements that are really in the
 	 *            array.
-	 * @param commandManager
-	 *            The command service to which the categories should be added;
-	 *            must not be <code>null</code>.
+	 * @return The valid category definitions; never <code>null</code>.
 	 */
-	private static void readCategoriesFromRegistry(
+	private static CategoryDefinition[] readCategoriesFromRegistry(
 			final IConfigurationElement[] configurationElements,
-			final int configurationElementCount, final CommandManager commandManager) {
-
-		Category undefCat = commandManager.getCategory(null);
-		if (!undefCat.isDefined()) {
-			// Define the uncategorized category.
-			commandManager.defineUncategorizedCategory(
-					WorkbenchMessages.get().CommandService_AutogeneratedCategoryName,
-					WorkbenchMessages.get().CommandService_AutogeneratedCategoryDescription);
-		}
+			final int configurationElementCount) {
 
 		final List warningsToLog = new ArrayList(1);
+		final List<CategoryDefinition> categories = new ArrayList<>(configurationElementCount);
 
 		for (int i = 0; i < configurationElementCount; i++) {
 			final IConfigurationElement configurationElement = configurationElements[i];
@@ -121,16 +222,15 @@ public final class CommandPersistence extends RegistryPersistence {
 			final String description = readOptional(configurationElement,
 					ATT_DESCRIPTION);
 
-			final Category category = commandManager.getCategory(categoryId);
-			if (!category.isDefined()) {
-				category.define(name, description);
-			}
+			categories.add(new CategoryDefinition(categoryId, name, description));
 		}
 
 		// If there were any warnings, then log them now.
 		logWarnings(
 				warningsToLog,
 				"Warnings while parsing the commands from the 'org.eclipse.ui.commands' and 'org.eclipse.ui.actionDefinitions' extension points."); //$NON-NLS-1$
+
+		return categories.toArray(new CategoryDefinition[categories.size()]);
 	}
 
 	/**
@@ -142,14 +242,20 @@ public final class CommandPersistence extends RegistryPersistence {
 	 * @param configurationElementCount
 	 *            The number of configuration elements that are really in the
 	 *            array.
-	 * @param commandManager
-	 *            The command service to which the commands should be added;
-	 *            must not be <code>null</code>.
+	 * @param categories
+	 *            The category definitions read before; must not be
+	 *            <code>null</code>.
+	 * @return The valid command definitions; never <code>null</code>.
 	 */
-	private final void readCommandsFromRegistry(
+	private static CommandDefinition[] readCommandsFromRegistry(
 			final IConfigurationElement[] configurationElements,
-			final int configurationElementCount, final CommandManager commandManager) {
+			final int configurationElementCount, final CategoryDefinition[] categories) {
 		final List warningsToLog = new ArrayList(1);
+		final List<CommandDefinition> commands = new ArrayList<>(configurationElementCount);
+		final Set<String> categoryIds = new HashSet<>();
+		for (CategoryDefinition category : categories) {
+			categoryIds.add(category.id);
+		}
 
 		for (int i = 0; i < configurationElementCount; i++) {
 			final IConfigurationElement configurationElement = configurationElements[i];
@@ -183,8 +289,8 @@ public final class CommandPersistence extends RegistryPersistence {
 			}
 
 			// Read out the parameters.
-			final Parameter[] parameters = readParameters(configurationElement,
-					warningsToLog, commandManager);
+			final ParameterDefinition[] parameters = readParameters(configurationElement,
+					warningsToLog);
 
 			// Read out the returnTypeId.
 			final String returnTypeId = readOptional(configurationElement,
@@ -194,9 +300,8 @@ public final class CommandPersistence extends RegistryPersistence {
 			final String helpContextId = readOptional(configurationElement,
 					ATT_HELP_CONTEXT_ID);
 
-			final Command command = commandManager.getCommand(commandId);
-			final Category category = commandManager.getCategory(categoryId);
-			if (!category.isDefined()) {
+			// a null category id refers to the uncategorized category
+			if (categoryId != null && !categoryIds.contains(categoryId)) {
 				addWarning(
 						warningsToLog,
 						"Commands should really have a category", //$NON-NLS-1$
@@ -204,27 +309,17 @@ public final class CommandPersistence extends RegistryPersistence {
 						"categoryId", categoryId); //$NON-NLS-1$
 			}
 
-			final ParameterType returnType;
-			if (returnTypeId == null) {
-				returnType = null;
-			} else {
-				returnType = commandManager.getParameterType(returnTypeId);
-			}
-
-			if (parameters != null && parameters.length > 0) {
-				command.undefine();
-			}
-			if (!command.isDefined()) {
-				command.define(name, description, category, parameters, returnType, helpContextId);
-				command.setHandler(HandlerServiceImpl.getHandler(commandId, context));
-			}
-			readState(configurationElement, warningsToLog, command);
+			final StateDefinition[] states = readState(configurationElement, warningsToLog);
+			commands.add(new CommandDefinition(commandId, name, description, categoryId, parameters,
+					returnTypeId, helpContextId, states));
 		}
 
 		// If there were any warnings, then log them now.
 		logWarnings(
 				warningsToLog,
 				"Warnings while parsing the commands from the 'org.eclipse.ui.commands' and 'org.eclipse.ui.actionDefinitions' extension points."); //$NON-NLS-1$
+
+		return commands.toArray(new CommandDefinition[commands.size()]);
 	}
 
 	/**
@@ -240,15 +335,11 @@ public final class CommandPersistence extends RegistryPersistence {
 	 *            The list of warnings found during parsing. Warnings found
 	 *            while parsing the parameters will be appended to this list.
 	 *            This value must not be <code>null</code>.
-	 * @param commandManager
-	 *            The command service from which the parameter can get parameter
-	 *            types; must not be <code>null</code>.
 	 * @return The array of parameters found for this configuration element;
 	 *         <code>null</code> if none can be found.
 	 */
-	private static Parameter[] readParameters(
-			final IConfigurationElement configurationElement, final List warningsToLog,
-			final CommandManager commandManager) {
+	private static ParameterDefinition[] readParameters(
+			final IConfigurationElement configurationElement, final List warningsToLog) {
 		final IConfigurationElement[] parameterElements = configurationElement
 				.getChildren(TAG_COMMAND_PARAMETER);
 		if ((parameterElements == null) || (parameterElements.length == 0)) {
@@ -256,7 +347,7 @@ public final class CommandPersistence extends RegistryPersistence {
 		}
 
 		int insertionIndex = 0;
-		Parameter[] parameters = new Parameter[parameterElements.length];
+		ParameterDefinition[] parameters = new ParameterDefinition[parameterElements.length];
 		for (final IConfigurationElement parameterElement : parameterElements) {
 			// Read out the id
 			final String id = readRequired(parameterElement, ATT_ID,
@@ -284,20 +375,12 @@ public final class CommandPersistence extends RegistryPersistence {
 			final boolean optional = readBoolean(parameterElement,
 					ATT_OPTIONAL, true);
 
-			final ParameterType type;
-			if (typeId == null) {
-				type = null;
-			} else {
-				type = commandManager.getParameterType(typeId);
-			}
-
-			final Parameter parameter = new Parameter(id, name,
-					parameterElement, type, optional);
-			parameters[insertionIndex++] = parameter;
+			parameters[insertionIndex++] = new ParameterDefinition(id, name,
+					parameterElement, typeId, optional);
 		}
 
 		if (insertionIndex != parameters.length) {
-			final Parameter[] compactedParameters = new Parameter[insertionIndex];
+			final ParameterDefinition[] compactedParameters = new ParameterDefinition[insertionIndex];
 			System.arraycopy(parameters, 0, compactedParameters, 0,
 					insertionIndex);
 			parameters = compactedParameters;
@@ -316,16 +399,15 @@ public final class CommandPersistence extends RegistryPersistence {
 	 * @param configurationElementCount
 	 *            The number of configuration elements that are really in the
 	 *            array.
-	 * @param commandManager
-	 *            The command service to which the commands should be added;
-	 *            must not be <code>null</code>.
+	 * @return The valid parameter type definitions; never <code>null</code>.
 	 * @since 3.2
 	 */
-	private static void readParameterTypesFromRegistry(
+	private static ParameterTypeDefinition[] readParameterTypesFromRegistry(
 			final IConfigurationElement[] configurationElements,
-			final int configurationElementCount, final CommandManager commandManager) {
+			final int configurationElementCount) {
 
 		final List warningsToLog = new ArrayList(1);
+		final List<ParameterTypeDefinition> parameterTypes = new ArrayList<>(configurationElementCount);
 
 		for (int i = 0; i < configurationElementCount; i++) {
 			final IConfigurationElement configurationElement = configurationElements[i];
@@ -345,18 +427,12 @@ public final class CommandPersistence extends RegistryPersistence {
 					ATT_CONVERTER);
 
 			/*
-			 * if the converter attribute was given, create a proxy
-			 * AbstractParameterValueConverter for the ParameterType, otherwise
-			 * null indicates there is no converter
+			 * if the converter attribute was given, a proxy
+			 * AbstractParameterValueConverter is created for the
+			 * ParameterType, otherwise null indicates there is no converter
 			 */
-			final AbstractParameterValueConverter parameterValueConverter = (converter == null) ? null
-					: new ParameterValueConverterProxy(configurationElement);
-
-			final ParameterType parameterType = commandManager
-					.getParameterType(parameterTypeId);
-			if (!parameterType.isDefined()) {
-				parameterType.define(type, parameterValueConverter);
-			}
+			parameterTypes.add(new ParameterTypeDefinition(parameterTypeId, type,
+					converter == null ? null : configurationElement));
 		}
 
 		// If there were any warnings, then log them now.
@@ -364,6 +440,7 @@ public final class CommandPersistence extends RegistryPersistence {
 				warningsToLog,
 				"Warnings while parsing the commandParameterTypes from the 'org.eclipse.ui.commands' extension point."); //$NON-NLS-1$
 
+		return parameterTypes.toArray(new ParameterTypeDefinition[parameterTypes.size()]);
 	}
 
 	/**
@@ -379,19 +456,18 @@ public final class CommandPersistence extends RegistryPersistence {
 	 *            The list of warnings found during parsing. Warnings found
 	 *            while parsing the parameters will be appended to this list.
 	 *            This value must not be <code>null</code>.
-	 * @param command
-	 *            The command for which the state is being read; may be
-	 *            <code>null</code>.
+	 * @return The valid states; <code>null</code> if there are none.
 	 */
-	private static void readState(
+	private static StateDefinition[] readState(
 			final IConfigurationElement configurationElement,
-			final List warningsToLog, final Command command) {
+			final List warningsToLog) {
 		final IConfigurationElement[] stateElements = configurationElement
 				.getChildren(TAG_STATE);
 		if ((stateElements == null) || (stateElements.length == 0)) {
-			return;
+			return null;
 		}
 
+		final List<StateDefinition> states = new ArrayList<>(stateElements.length);
 		for (final IConfigurationElement stateElement : stateElements) {
 			final String id = readRequired(stateElement, ATT_ID, warningsToLog, "State needs an id"); //$NON-NLS-1$
 			if (id == null) {
@@ -399,79 +475,45 @@ public final class CommandPersistence extends RegistryPersistence {
 			}
 
 			if (checkClass(stateElement, warningsToLog, "State must have an associated class", id)) { //$NON-NLS-1$
-				if (command.getState(id) == null) {
-					final State state = new CommandStateProxy(stateElement, ATT_CLASS,
-							PrefUtil.getInternalPreferenceStore(),
-							CommandService.createPreferenceKey(command, id));
-					command.addState(id, state);
-				}
+				states.add(new StateDefinition(id, stateElement));
 			}
 		}
+		return states.isEmpty() ? null : states.toArray(new StateDefinition[states.size()]);
 	}
 
 	/**
-	 * The command service with which this persistence class is associated;
-	 * never <code>null</code>.
-	 */
-	private final CommandManager commandManager;
-
-	/**
-	 * Constructs a new instance of <code>CommandPersistence</code>.
+	 * Returns the definitions for the locale of the current session, reading
+	 * them from the registry if no session with that locale has read them
+	 * since the command extensions last changed.
 	 *
-	 * @param commandService
-	 *            The command service which should be populated with the values
-	 *            from the registry; must not be <code>null</code>.
+	 * @return the shared definitions; never <code>null</code>
 	 */
-	public CommandPersistence(final CommandManager commandService) {
-		if (commandService == null) {
-			throw new NullPointerException("The command service cannot be null"); //$NON-NLS-1$
+	private static Definitions getDefinitions() {
+		registerDefinitions();
+		Locale locale = LOCALE_PROVIDER.getLocale();
+		Definitions definitions = definitionsByLocale.get(locale);
+		SharedRegistryCaches.recordLookup(definitions != null);
+		if (definitions == null) {
+			definitions = definitionsByLocale.computeIfAbsent(locale, key -> readDefinitions());
 		}
-		this.commandManager = commandService;
-	}
-
-	@Override
-	protected boolean isChangeImportant(final IRegistryChangeEvent event) {
-		return false;
-	}
-
-	public boolean commandsNeedUpdating(final IRegistryChangeEvent event) {
-	    // RAP [bm]:
-//      final IExtensionDelta[] commandDeltas = event.getExtensionDeltas(
-//              PlatformUI.PLUGIN_ID, IWorkbenchRegistryConstants.PL_COMMANDS);
-        final IExtensionDelta[] commandDeltas = event.getExtensionDeltas(
-                PlatformUI.PLUGIN_EXTENSION_NAME_SPACE, IWorkbenchRegistryConstants.PL_COMMANDS);
-        // RAPEND: [bm]
-        if (commandDeltas.length == 0) {
-            // RAP [bm]:
-//          final IExtensionDelta[] actionDefinitionDeltas = event
-//                  .getExtensionDeltas(PlatformUI.PLUGIN_ID,
-//                          IWorkbenchRegistryConstants.PL_ACTION_DEFINITIONS);
-            final IExtensionDelta[] actionDefinitionDeltas = event
-            .getExtensionDeltas(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
-                    IWorkbenchRegistryConstants.PL_ACTION_DEFINITIONS);
-            // RAPEND: [bm]
-            if (actionDefinitionDeltas.length == 0) {
-                return false;
-            }
-        }
-
-		return true;
+		return definitions;
 	}
 
 	/**
-	 * Reads all of the commands and categories from the registry,
-	 *
-	 * @param commandManager
-	 *            The command service which should be populated with the values
-	 *            from the registry; must not be <code>null</code>.
+	 * Reads the definitions for the default locale ahead of the first
+	 * session, unless they are already cached.
 	 */
-	@Override
-	protected void read() {
-		super.read();
-		reRead();
+	public static void warmUp() {
+		registerDefinitions();
+		definitionsByLocale.computeIfAbsent(Locale.getDefault(), locale -> readDefinitions());
 	}
 
-	public void reRead() {
+	private static void registerDefinitions() {
+		SharedRegistryCaches.register(CommandPersistence.class, CommandPersistence::affectsCommands,
+				definitionsByLocale::clear);
+	}
+
+	private static Definitions readDefinitions() {
 		// Create the extension registry mementos.
 		final IExtensionRegistry registry = Platform.getExtensionRegistry();
 		int commandDefinitionCount = 0;
@@ -514,14 +556,165 @@ public final class CommandPersistence extends RegistryPersistence {
 			}
 		}
 
-		readCategoriesFromRegistry(
+		final CategoryDefinition[] categories = readCategoriesFromRegistry(
 				indexedConfigurationElements[INDEX_CATEGORY_DEFINITIONS],
-				categoryDefinitionCount, commandManager);
-		readCommandsFromRegistry(
+				categoryDefinitionCount);
+		final CommandDefinition[] commands = readCommandsFromRegistry(
 				indexedConfigurationElements[INDEX_COMMAND_DEFINITIONS],
-				commandDefinitionCount, commandManager);
-		readParameterTypesFromRegistry(
+				commandDefinitionCount, categories);
+		final ParameterTypeDefinition[] parameterTypes = readParameterTypesFromRegistry(
 				indexedConfigurationElements[INDEX_PARAMETER_TYPE_DEFINITIONS],
-				parameterTypeDefinitionCount, commandManager);
+				parameterTypeDefinitionCount);
+		return new Definitions(categories, commands, parameterTypes);
+	}
+
+	private static boolean affectsCommands(final IRegistryChangeEvent event) {
+	    // RAP [bm]:
+//      final IExtensionDelta[] commandDeltas = event.getExtensionDeltas(
+//              PlatformUI.PLUGIN_ID, IWorkbenchRegistryConstants.PL_COMMANDS);
+        final IExtensionDelta[] commandDeltas = event.getExtensionDeltas(
+                PlatformUI.PLUGIN_EXTENSION_NAME_SPACE, IWorkbenchRegistryConstants.PL_COMMANDS);
+        // RAPEND: [bm]
+        if (commandDeltas.length == 0) {
+            // RAP [bm]:
+//          final IExtensionDelta[] actionDefinitionDeltas = event
+//                  .getExtensionDeltas(PlatformUI.PLUGIN_ID,
+//                          IWorkbenchRegistryConstants.PL_ACTION_DEFINITIONS);
+            final IExtensionDelta[] actionDefinitionDeltas = event
+            .getExtensionDeltas(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+                    IWorkbenchRegistryConstants.PL_ACTION_DEFINITIONS);
+            // RAPEND: [bm]
+            if (actionDefinitionDeltas.length == 0) {
+                return false;
+            }
+        }
+
+		return true;
+	}
+
+	/**
+	 * The command service with which this persistence class is associated;
+	 * never <code>null</code>.
+	 */
+	private final CommandManager commandManager;
+
+	/**
+	 * Constructs a new instance of <code>CommandPersistence</code>.
+	 *
+	 * @param commandService
+	 *            The command service which should be populated with the values
+	 *            from the registry; must not be <code>null</code>.
+	 */
+	public CommandPersistence(final CommandManager commandService) {
+		if (commandService == null) {
+			throw new NullPointerException("The command service cannot be null"); //$NON-NLS-1$
+		}
+		this.commandManager = commandService;
+	}
+
+	@Override
+	protected boolean isChangeImportant(final IRegistryChangeEvent event) {
+		return false;
+	}
+
+	public boolean commandsNeedUpdating(final IRegistryChangeEvent event) {
+		return affectsCommands(event);
+	}
+
+	/**
+	 * Reads all of the commands and categories from the registry,
+	 *
+	 * @param commandManager
+	 *            The command service which should be populated with the values
+	 *            from the registry; must not be <code>null</code>.
+	 */
+	@Override
+	protected void read() {
+		super.read();
+		reRead();
+	}
+
+	/**
+	 * Defines the categories, commands and parameter types read from the
+	 * registry in the command manager. The registry is only read if no
+	 * session with the same locale has read it before; the command manager
+	 * objects themselves belong to the session and are created here.
+	 */
+	public void reRead() {
+		final Definitions definitions = getDefinitions();
+
+		Category undefCat = commandManager.getCategory(null);
+		if (!undefCat.isDefined()) {
+			// Define the uncategorized category.
+			commandManager.defineUncategorizedCategory(
+					WorkbenchMessages.get().CommandService_AutogeneratedCategoryName,
+					WorkbenchMessages.get().CommandService_AutogeneratedCategoryDescription);
+		}
+
+		for (final CategoryDefinition definition : definitions.categories) {
+			final Category category = commandManager.getCategory(definition.id);
+			if (!category.isDefined()) {
+				category.define(definition.name, definition.description);
+			}
+		}
+
+		for (final CommandDefinition definition : definitions.commands) {
+			final Parameter[] parameters = createParameters(definition.parameters);
+			final Command command = commandManager.getCommand(definition.id);
+			final Category category = commandManager.getCategory(definition.categoryId);
+			final ParameterType returnType;
+			if (definition.returnTypeId == null) {
+				returnType = null;
+			} else {
+				returnType = commandManager.getParameterType(definition.returnTypeId);
+			}
+
+			if (parameters != null && parameters.length > 0) {
+				command.undefine();
+			}
+			if (!command.isDefined()) {
+				command.define(definition.name, definition.description, category, parameters,
+						returnType, definition.helpContextId);
+				command.setHandler(HandlerServiceImpl.getHandler(definition.id, context));
+			}
+			if (definition.states != null) {
+				for (final StateDefinition state : definition.states) {
+					if (command.getState(state.id) == null) {
+						command.addState(state.id, new CommandStateProxy(state.element, ATT_CLASS,
+								PrefUtil.getInternalPreferenceStore(),
+								CommandService.createPreferenceKey(command, state.id)));
+					}
+				}
+			}
+		}
+
+		for (final ParameterTypeDefinition definition : definitions.parameterTypes) {
+			final ParameterType parameterType = commandManager.getParameterType(definition.id);
+			if (!parameterType.isDefined()) {
+				final AbstractParameterValueConverter parameterValueConverter = definition.converterElement == null
+						? null
+						: new ParameterValueConverterProxy(definition.converterElement);
+				parameterType.define(definition.type, parameterValueConverter);
+			}
+		}
+	}
+
+	private Parameter[] createParameters(final ParameterDefinition[] definitions) {
+		if (definitions == null) {
+			return null;
+		}
+		final Parameter[] parameters = new Parameter[definitions.length];
+		for (int i = 0; i < definitions.length; i++) {
+			final ParameterDefinition definition = definitions[i];
+			final ParameterType type;
+			if (definition.typeId == null) {
+				type = null;
+			} else {
+				type = commandManager.getParameterType(definition.typeId);
+			}
+			parameters[i] = new Parameter(definition.id, definition.name, definition.element, type,
+					definition.optional);
+		}
+		return parameters;
 	}
 }
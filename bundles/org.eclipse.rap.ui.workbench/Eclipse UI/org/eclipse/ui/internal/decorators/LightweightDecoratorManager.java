@@ -14,15 +14,21 @@
 package org.eclipse.ui.internal.decorators;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.ActionExpression;
+import org.eclipse.ui.internal.LegacyResourceSupport;
 import org.eclipse.ui.internal.ObjectContributorManager;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
@@ -120,8 +126,75 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
+	/**
+	 * The lightweight decorators that may apply to the elements of one class.
+	 * The candidates are the contributors of the class, in contributor order,
+	 * without the decorators whose enablement only tests the object class and
+	 * does not match it. Only the enablement of the remaining dynamic
+	 * decorators has to be evaluated per element.
+	 */
+	private static final class Applicability {
+
+		/**
+		 * The adapter types of the class when the candidates were computed.
+		 * The candidates are stale once adapter factories are added or
+		 * removed for the class.
+		 */
+		final String[] adapterTypes;
+
+		final LightweightDecoratorDefinition[] candidates;
+
+		final boolean[] dynamic;
+
+		Applicability(String[] adapterTypes, LightweightDecoratorDefinition[] candidates, boolean[] dynamic) {
+			this.adapterTypes = adapterTypes;
+			this.candidates = candidates;
+			this.dynamic = dynamic;
+		}
+
+		/**
+		 * Return the candidates enabled for the element. The candidates array
+		 * itself is returned if all of them apply, so no array is allocated in
+		 * the common case.
+		 */
+		LightweightDecoratorDefinition[] getDecoratorsFor(Object element) {
+			int length = candidates.length;
+			if (length > Long.SIZE) {
+				return toArray(DecoratorManager.getDecoratorsFor(element, candidates));
+			}
+			long applicable = 0;
+			int count = 0;
+			for (int i = 0; i < length; i++) {
+				LightweightDecoratorDefinition candidate = candidates[i];
+				if (dynamic[i] ? candidate.isEnabledFor(element) : candidate.isEnabled()) {
+					applicable |= 1L << i;
+					count++;
+				}
+			}
+			if (count == length) {
+				return candidates;
+			}
+			if (count == 0) {
+				return EMPTY_LIGHTWEIGHT_DEF;
+			}
+			LightweightDecoratorDefinition[] result = new LightweightDecoratorDefinition[count];
+			for (int i = 0, j = 0; j < count; i++) {
+				if ((applicable & (1L << i)) != 0) {
+					result[j++] = candidates[i];
+				}
+			}
+			return result;
+		}
+	}
+
 	private LightweightRunnable runnable = new LightweightRunnable();
 
+	/**
+	 * The applicable decorators by element class. Replaced whenever the
+	 * contributors change, see {@link #flushLookup()}.
+	 */
+	private volatile Map<Class<?>, Applicability> applicabilityLookup = new ConcurrentHashMap<>();
+
 	// The lightweight definitions read from the registry
 	private LightweightDecoratorDefinition[] lightweightDefinitions;
 
@@ -287,6 +360,13 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 */
 	void reset() {
 		runnable.clearReferences();
+		applicabilityLookup = new ConcurrentHashMap<>();
+	}
+
+	@Override
+	public void flushLookup() {
+		super.flushLookup();
+		applicabilityLookup = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -321,7 +401,8 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	}
 
 	/**
-	 * Get the lightweight registered for elements of this type.
+	 * Get the lightweight registered for elements of this type. The returned
+	 * array may be shared and must not be modified.
 	 */
 	LightweightDecoratorDefinition[] getDecoratorsFor(Object element) {
 
@@ -329,22 +410,66 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 			return EMPTY_LIGHTWEIGHT_DEF;
 		}
 
-		List elements = new ArrayList(1);
-		elements.add(element);
-		LightweightDecoratorDefinition[] decoratorArray = EMPTY_LIGHTWEIGHT_DEF;
-		List contributors = getContributors(elements);
-		if (!contributors.isEmpty()) {
-			Collection decorators = DecoratorManager.getDecoratorsFor(element,
+		// With the resources plug-in the contributors also depend on the
+		// resource an element adapts to, so they cannot be cached by class
+		if (LegacyResourceSupport.getResourceClass() != null) {
+			List contributors = getContributorsOfElement(element);
+			if (contributors.isEmpty()) {
+				return EMPTY_LIGHTWEIGHT_DEF;
+			}
+			return toArray(DecoratorManager.getDecoratorsFor(element,
 					(DecoratorDefinition[]) contributors
 							.toArray(new DecoratorDefinition[contributors
-									.size()]));
-			if (decorators.size() > 0) {
-				decoratorArray = new LightweightDecoratorDefinition[decorators
-						.size()];
-				decorators.toArray(decoratorArray);
+									.size()])));
+		}
+
+		Class<?> elementClass = element.getClass();
+		String[] adapterTypes = Platform.getAdapterManager().computeAdapterTypes(elementClass);
+		Map<Class<?>, Applicability> lookup = applicabilityLookup;
+		Applicability applicability = lookup.get(elementClass);
+		if (applicability == null || !Arrays.equals(applicability.adapterTypes, adapterTypes)) {
+			applicability = computeApplicability(element, adapterTypes);
+			lookup.put(elementClass, applicability);
+		}
+		return applicability.getDecoratorsFor(element);
+	}
+
+	/**
+	 * Compute the decorators that may apply to the elements of the class of
+	 * the given element.
+	 */
+	private Applicability computeApplicability(Object element, String[] adapterTypes) {
+		List contributors = getContributorsOfElement(element);
+		List candidates = new ArrayList(contributors.size());
+		boolean[] dynamic = new boolean[contributors.size()];
+		for (Object contributor : contributors) {
+			LightweightDecoratorDefinition candidate = (LightweightDecoratorDefinition) contributor;
+			ActionExpression expression = candidate.getEnablement();
+			if (expression != null && !expression.isTypeExpression()) {
+				dynamic[candidates.size()] = true;
+				candidates.add(candidate);
+			} else if (expression == null || expression.isEnabledFor(element)) {
+				candidates.add(candidate);
 			}
 		}
+		LightweightDecoratorDefinition[] candidateArray = toArray(candidates);
+		dynamic = Arrays.copyOf(dynamic, candidateArray.length);
+		return new Applicability(adapterTypes, candidateArray, dynamic);
+	}
 
+	private List getContributorsOfElement(Object element) {
+		List elements = new ArrayList(1);
+		elements.add(element);
+		return getContributors(elements);
+	}
+
+	private static LightweightDecoratorDefinition[] toArray(Collection decorators) {
+		if (decorators.isEmpty()) {
+			return EMPTY_LIGHTWEIGHT_DEF;
+		}
+		LightweightDecoratorDefinition[] decoratorArray = new LightweightDecoratorDefinition[decorators
+				.size()];
+		decorators.toArray(decoratorArray);
 		return decoratorArray;
 	}
 
@@ -15,7 +15,11 @@
 
 package org.eclipse.ui.internal.handlers;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.core.commands.AbstractHandlerWithState;
 import org.eclipse.core.commands.ExecutionEvent;
@@ -35,7 +39,6 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.util.IPropertyChangeListener;
-import org.eclipse.rap.rwt.SingletonUtil;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.commands.ICommandService;
 import org.eclipse.ui.commands.IElementUpdater;
@@ -66,8 +69,24 @@ public final class HandlerProxy extends AbstractHandlerWithState implements
 
 // RAP [fappel]: change this due to memory problems
 //		private static Map CEToProxyMap = new HashMap();
-	public final static class CEToProxyMap extends HashMap {
-		private static final long serialVersionUID = 1L;
+	/**
+	 * The live proxies of all sessions, indexed by their configuration
+	 * element. The proxies are only weakly referenced, so they are collected
+	 * together with their session; the entries of collected proxies are
+	 * removed the next time the index is accessed. Access is synchronized on
+	 * the map.
+	 */
+	private static final Map<IConfigurationElement, List<ProxyReference>> CEToProxyMap = new HashMap<>();
+
+	private static final ReferenceQueue<HandlerProxy> staleProxies = new ReferenceQueue<>();
+
+	private static final class ProxyReference extends WeakReference<HandlerProxy> {
+		final IConfigurationElement key;
+
+		ProxyReference(HandlerProxy proxy, IConfigurationElement key) {
+			super(proxy, staleProxies);
+			this.key = key;
+		}
 	}
 
 	/**
@@ -202,22 +221,44 @@ public final class HandlerProxy extends AbstractHandlerWithState implements
 			setProxyEnabled(true);
 		}
 
-// RAP [fappel]: change this due to memory problems
-//		CEToProxyMap.put(configurationElement, this);
-		Map ceToProxyMap = SingletonUtil.getSessionInstance(CEToProxyMap.class);
-		ceToProxyMap.put(configurationElement, this);
+		synchronized (CEToProxyMap) {
+			expungeStaleProxies();
+			List<ProxyReference> proxies = CEToProxyMap.get(configurationElement);
+			if (proxies == null) {
+				proxies = new ArrayList<>(1);
+				CEToProxyMap.put(configurationElement, proxies);
+			}
+			proxies.add(new ProxyReference(this, configurationElement));
+		}
 	}
 
 	public static void updateStaleCEs(IConfigurationElement[] replacements) {
-		for (IConfigurationElement replacement : replacements) {
-// RAP [fappel]: change this due to memory problems
-//			HandlerProxy proxy = (HandlerProxy) CEToProxyMap
-//					.get(replacement);
-			Map ceToProxyMap = SingletonUtil.getSessionInstance(CEToProxyMap.class);
-			HandlerProxy proxy = (HandlerProxy) ceToProxyMap
-					.get(replacement);
-			if (proxy != null)
-				proxy.configurationElement = replacement;
+		synchronized (CEToProxyMap) {
+			expungeStaleProxies();
+			for (IConfigurationElement replacement : replacements) {
+				List<ProxyReference> proxies = CEToProxyMap.get(replacement);
+				if (proxies != null) {
+					for (ProxyReference reference : proxies) {
+						HandlerProxy proxy = reference.get();
+						if (proxy != null)
+							proxy.configurationElement = replacement;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the references to collected proxies from the index. Must be
+	 * called while synchronized on the index.
+	 */
+	private static void expungeStaleProxies() {
+		ProxyReference reference;
+		while ((reference = (ProxyReference) staleProxies.poll()) != null) {
+			List<ProxyReference> proxies = CEToProxyMap.get(reference.key);
+			if (proxies != null && proxies.remove(reference) && proxies.isEmpty()) {
+				CEToProxyMap.remove(reference.key);
+			}
 		}
 	}
 
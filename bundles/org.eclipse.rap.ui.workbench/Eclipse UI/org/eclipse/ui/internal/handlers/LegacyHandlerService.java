@@ -45,6 +45,7 @@ import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.ISafeRunnable;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.e4.core.commands.ECommandService;
 import org.eclipse.e4.core.commands.EHandlerService;
@@ -68,6 +69,7 @@ import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.expressions.AndExpression;
 import org.eclipse.ui.internal.expressions.WorkbenchWindowExpression;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
 import org.eclipse.ui.internal.services.EvaluationService;
 import org.eclipse.ui.services.IEvaluationService;
 import org.eclipse.ui.services.ISourceProviderService;
@@ -155,6 +157,47 @@ public class LegacyHandlerService implements IHandlerService {
 
 	private static IHandlerActivation systemHandlerActivation;
 
+	/**
+	 * A handler read from the <code>org.eclipse.ui.commands</code> or
+	 * <code>org.eclipse.ui.handlers</code> extension point. Definitions are
+	 * shared by all sessions, their expressions are never modified once they
+	 * have been parsed.
+	 */
+	private static final class HandlerDefinition {
+		final String commandId;
+		final IConfigurationElement configElement;
+		final String handlerAttributeName;
+		final Expression activeWhen;
+		final Expression enabledWhen;
+		final String helpContextId;
+
+		HandlerDefinition(String commandId, IConfigurationElement configElement,
+				String handlerAttributeName, Expression activeWhen, Expression enabledWhen,
+				String helpContextId) {
+			this.commandId = commandId;
+			this.configElement = configElement;
+			this.handlerAttributeName = handlerAttributeName;
+			this.activeWhen = activeWhen;
+			this.enabledWhen = enabledWhen;
+			this.helpContextId = helpContextId;
+		}
+
+		HandlerProxy createHandler(IEclipseContext context) {
+			if (IWorkbenchRegistryConstants.ATT_DEFAULT_HANDLER.equals(handlerAttributeName)) {
+				return new HandlerProxy(commandId, configElement, handlerAttributeName);
+			}
+			return new HandlerProxy(commandId, configElement, handlerAttributeName, enabledWhen,
+					context.get(IEvaluationService.class));
+		}
+	}
+
+	/**
+	 * The handlers read from the platform extension registry, default
+	 * handlers first, or <code>null</code> if they have not been read yet or
+	 * the registry changed since.
+	 */
+	private static volatile List<HandlerDefinition> handlerDefinitions;
+
 
 
 	public static IHandlerActivation registerLegacyHandler(final IEclipseContext context,
@@ -596,12 +639,58 @@ public class LegacyHandlerService implements IHandlerService {
 	@Override
 	public void readRegistry() {
 		clearActivations();
-		readDefaultHandlers();
-		readHandlers();
+		for (HandlerDefinition definition : getHandlerDefinitions()) {
+			registerLegacyHandler(eclipseContext, definition.commandId, definition.commandId,
+					definition.createHandler(eclipseContext), definition.activeWhen,
+					definition.helpContextId, handlerActivations);
+		}
 	}
 
-	private void readHandlers() {
+	/**
+	 * Returns the handlers of the registry of this service's context. The
+	 * handlers of the platform extension registry are read once and shared by
+	 * all sessions, until the commands or handlers extension point changes.
+	 */
+	private List<HandlerDefinition> getHandlerDefinitions() {
 		IExtensionRegistry registry = eclipseContext.get(IExtensionRegistry.class);
+		if (registry != Platform.getExtensionRegistry()) {
+			return readHandlerDefinitions(registry);
+		}
+		SharedRegistryCaches.recordLookup(handlerDefinitions != null);
+		return getSharedHandlerDefinitions(registry);
+	}
+
+	/**
+	 * Reads the handlers of the platform extension registry ahead of the
+	 * first session, unless they are already cached.
+	 */
+	public static void warmUp() {
+		getSharedHandlerDefinitions(Platform.getExtensionRegistry());
+	}
+
+	private static List<HandlerDefinition> getSharedHandlerDefinitions(IExtensionRegistry registry) {
+		SharedRegistryCaches.register(LegacyHandlerService.class,
+				SharedRegistryCaches.affectsExtensionPoints(IWorkbenchRegistryConstants.PL_COMMANDS,
+						IWorkbenchRegistryConstants.PL_HANDLERS),
+				() -> handlerDefinitions = null);
+		synchronized (LegacyHandlerService.class) {
+			List<HandlerDefinition> definitions = handlerDefinitions;
+			if (definitions == null) {
+				definitions = readHandlerDefinitions(registry);
+				handlerDefinitions = definitions;
+			}
+			return definitions;
+		}
+	}
+
+	private static List<HandlerDefinition> readHandlerDefinitions(IExtensionRegistry registry) {
+		List<HandlerDefinition> definitions = new ArrayList<>();
+		readDefaultHandlers(registry, definitions);
+		readHandlers(registry, definitions);
+		return Collections.unmodifiableList(definitions);
+	}
+
+	private static void readHandlers(IExtensionRegistry registry, List<HandlerDefinition> definitions) {
 		IExtensionPoint extPoint = registry
 				.getExtensionPoint(IWorkbenchRegistryConstants.EXTENSION_HANDLERS);
 		IConfigurationElement[] elements = extPoint.getConfigurationElements();
@@ -655,19 +744,14 @@ public class LegacyHandlerService implements IHandlerService {
 							"Incorrect enableWhen element " + commandId, e); //$NON-NLS-1$
 				}
 			}
-			registerLegacyHandler(
-					eclipseContext,
-					commandId,
-					commandId,
-					new org.eclipse.ui.internal.handlers.HandlerProxy(commandId, configElement,
-							IWorkbenchRegistryConstants.ATT_CLASS, enabledWhen, eclipseContext
-									.get(IEvaluationService.class)), activeWhen,
-					configElement.getAttribute(IWorkbenchRegistryConstants.ATT_HELP_CONTEXT_ID), handlerActivations);
+			definitions.add(new HandlerDefinition(commandId, configElement,
+					IWorkbenchRegistryConstants.ATT_CLASS, activeWhen, enabledWhen,
+					configElement.getAttribute(IWorkbenchRegistryConstants.ATT_HELP_CONTEXT_ID)));
 		}
 	}
 
-	private void readDefaultHandlers() {
-		IExtensionRegistry registry = eclipseContext.get(IExtensionRegistry.class);
+	private static void readDefaultHandlers(IExtensionRegistry registry,
+			List<HandlerDefinition> definitions) {
 		IExtensionPoint extPoint = registry
 				.getExtensionPoint(IWorkbenchRegistryConstants.EXTENSION_COMMANDS);
 		IConfigurationElement[] elements = extPoint.getConfigurationElements();
@@ -682,11 +766,8 @@ public class LegacyHandlerService implements IHandlerService {
 					&& (configElement.getChildren(IWorkbenchRegistryConstants.TAG_DEFAULT_HANDLER).length == 0)) {
 				continue;
 			}
-			registerLegacyHandler(eclipseContext, id, id,
-					new org.eclipse.ui.internal.handlers.HandlerProxy(id, configElement,
-							IWorkbenchRegistryConstants.ATT_DEFAULT_HANDLER),
-					null, null, handlerActivations);
-
+			definitions.add(new HandlerDefinition(id, configElement,
+					IWorkbenchRegistryConstants.ATT_DEFAULT_HANDLER, null, null, null));
 		}
 	}
 
@@ -51,6 +51,18 @@ public class ContributionFactoryGenerator extends ContextFunction {
 		this.type = type;
 	}
 
+	/**
+	 * Return a generator for the same configuration element with a factory
+	 * instance of its own. Generators of registered factories are returned
+	 * as is.
+	 */
+	ContributionFactoryGenerator copy() {
+		if (configElement == null) {
+			return this;
+		}
+		return new ContributionFactoryGenerator(configElement, type);
+	}
+
 	private AbstractContributionFactory getFactory() {
 		if (factoryImpl == null && configElement != null) {
 			try {
@@ -15,8 +15,8 @@
 
 package org.eclipse.ui.internal.menus;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.IConfigurationElement;
 
 /**
@@ -25,12 +25,20 @@ import org.eclipse.core.runtime.IConfigurationElement;
  */
 public class ControlContributionRegistry {
 
-	private static Map<String, IConfigurationElement> registry = new HashMap<>();
+	private static Map<String, IConfigurationElement> registry = new ConcurrentHashMap<>();
 
 	public static void clear() {
 		registry.clear();
 	}
 
+	/**
+	 * Removes the configuration elements of extensions that were removed
+	 * from the registry.
+	 */
+	public static void removeInvalid() {
+		registry.values().removeIf(element -> !element.isValid());
+	}
+
 	public static void add(String id, IConfigurationElement element) {
 		registry.put(id, element);
 	}
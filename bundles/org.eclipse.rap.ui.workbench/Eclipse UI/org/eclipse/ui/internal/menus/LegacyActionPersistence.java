@@ -17,8 +17,12 @@ package org.eclipse.ui.internal.menus;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.eclipse.core.commands.Category;
 import org.eclipse.core.commands.Command;
 import org.eclipse.core.commands.IHandler;
@@ -48,6 +52,7 @@ import org.eclipse.ui.internal.expressions.LegacySelectionEnablerWrapper;
 import org.eclipse.ui.internal.expressions.LegacyViewContributionExpression;
 import org.eclipse.ui.internal.handlers.ActionDelegateHandlerProxy;
 import org.eclipse.ui.internal.handlers.IActionCommandMappingService;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.internal.services.RegistryPersistence;
 
@@ -109,6 +114,46 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 	 */
 	private final Collection menuContributions = new ArrayList();
 
+	/**
+	 * The action set elements whose actions have not been read yet, indexed by
+	 * action set identifier. The actions of an action set are read when the
+	 * action set first becomes visible. This value is never <code>null</code>.
+	 *
+	 * @see #readActionSet(String)
+	 */
+	private final Map<String, List<IConfigurationElement>> pendingActionSets = new HashMap<>();
+
+	/**
+	 * The editor contribution elements whose actions have not been read yet,
+	 * indexed by target editor identifier. This value is never
+	 * <code>null</code>.
+	 *
+	 * @see #readPartContributions(String)
+	 */
+	private final Map<String, List<IConfigurationElement>> pendingEditorContributions = new HashMap<>();
+
+	/**
+	 * The view contribution elements whose actions have not been read yet,
+	 * indexed by target view identifier. This value is never <code>null</code>.
+	 *
+	 * @see #readPartContributions(String)
+	 */
+	private final Map<String, List<IConfigurationElement>> pendingViewContributions = new HashMap<>();
+
+	/**
+	 * The identifiers of the action sets that have been read. They are read
+	 * again right away when the registry is re-read. This value is never
+	 * <code>null</code>.
+	 */
+	private final Set<String> readActionSetIds = new HashSet<>();
+
+	/**
+	 * The identifiers of the parts whose contributions have been read. They are
+	 * read again right away when the registry is re-read. This value is never
+	 * <code>null</code>.
+	 */
+	private final Set<String> readPartIds = new HashSet<>();
+
 	/**
 	 * The service locator from which services can be retrieved in the future;
 	 * must not be <code>null</code>.
@@ -397,6 +442,9 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 		clearActivations();
 		clearImages();
 		clearMenus();
+		pendingActionSets.clear();
+		pendingEditorContributions.clear();
+		pendingViewContributions.clear();
 	}
 
 	@Override
@@ -481,6 +529,104 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 				indexedConfigurationElements[INDEX_VIEW_CONTRIBUTIONS],
 				viewContributionCount);
 
+		for (final String actionSetId : readActionSetIds.toArray(new String[readActionSetIds.size()])) {
+			readActionSet(actionSetId);
+		}
+		for (final String partId : readPartIds.toArray(new String[readPartIds.size()])) {
+			readPartContributions(partId);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Reads the actions of the action set with the given identifier, unless
+	 * they have already been read. Action sets are only indexed by
+	 * {@link #read()}; their actions are turned into commands and handlers when
+	 * the action set first becomes visible in the window. Action sets that are
+	 * never shown do not cost anything.
+	 * </p>
+	 * <p>
+	 * This method must be called before the action set is activated as a
+	 * context, so that its handlers are active as soon as the action set is.
+	 * </p>
+	 *
+	 * @param actionSetId
+	 *            The identifier of the action set that becomes visible; must
+	 *            not be <code>null</code>.
+	 */
+	public void readActionSet(final String actionSetId) {
+		readActionSetIds.add(actionSetId);
+		final List<IConfigurationElement> elements = pendingActionSets.remove(actionSetId);
+		if (elements == null) {
+			return;
+		}
+
+		final StartupProfiler.Phase phase = StartupProfiler.start("LegacyActionPersistence.readActionSet"); //$NON-NLS-1$
+		try {
+			final List warningsToLog = new ArrayList(1);
+
+			// Restrict the handler to when the action set is active.
+			final LegacyActionSetExpression expression = new LegacyActionSetExpression(
+					actionSetId, window);
+			for (final IConfigurationElement element : elements) {
+				readActionsAndMenus(element, actionSetId, warningsToLog,
+						expression, null, false);
+			}
+
+			logWarnings(
+					warningsToLog,
+					"Warnings while parsing the action sets from the 'org.eclipse.ui.actionSets' extension point"); //$NON-NLS-1$
+		} finally {
+			phase.end();
+		}
+	}
+
+	/**
+	 * Reads the actions of the editor and view contributions targeting the part
+	 * with the given identifier, unless they have already been read. This is
+	 * done when a part with that identifier is first activated in the window.
+	 *
+	 * @param partId
+	 *            The identifier of the part that is activated; must not be
+	 *            <code>null</code>.
+	 */
+	public void readPartContributions(final String partId) {
+		readPartIds.add(partId);
+		final List<IConfigurationElement> editorElements = pendingEditorContributions.remove(partId);
+		final List<IConfigurationElement> viewElements = pendingViewContributions.remove(partId);
+		if (editorElements == null && viewElements == null) {
+			return;
+		}
+
+		final StartupProfiler.Phase phase = StartupProfiler.start("LegacyActionPersistence.readPartContributions"); //$NON-NLS-1$
+		try {
+			if (editorElements != null) {
+				final List warningsToLog = new ArrayList(1);
+				final Expression visibleWhenExpression = new LegacyEditorContributionExpression(
+						partId, window);
+				for (final IConfigurationElement element : editorElements) {
+					readActionsAndMenus(element, element.getAttribute(ATT_ID),
+							warningsToLog, visibleWhenExpression, null, false);
+				}
+				logWarnings(
+						warningsToLog,
+						"Warnings while parsing the editor contributions from the 'org.eclipse.ui.editorActions' extension point"); //$NON-NLS-1$
+			}
+			if (viewElements != null) {
+				final List warningsToLog = new ArrayList(1);
+				final Expression visibleWhenExpression = new LegacyViewContributionExpression(
+						partId, window);
+				for (final IConfigurationElement element : viewElements) {
+					readActionsAndMenus(element, element.getAttribute(ATT_ID),
+							warningsToLog, visibleWhenExpression, partId, false);
+				}
+				logWarnings(
+						warningsToLog,
+						"Warnings while parsing the view contributions from the 'org.eclipse.ui.viewActions' extension point"); //$NON-NLS-1$
+			}
+		} finally {
+			phase.end();
+		}
 	}
 
 	/**
@@ -505,13 +651,21 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 	 *            The view to which this handler is associated. This value is
 	 *            required if this is a view action; otherwise it can be
 	 *            <code>null</code>.
+	 * @param retarget
+	 *            Whether the retargettable actions or all other actions should
+	 *            be read.
 	 * @return References to the created menu elements; may be <code>null</code>,
 	 *         and may be empty.
 	 */
 	private void readActions(final String primaryId,
 			final IConfigurationElement[] elements, final List warningsToLog,
-			final Expression visibleWhenExpression, final String viewId) {
+			final Expression visibleWhenExpression, final String viewId,
+			final boolean retarget) {
 		for (final IConfigurationElement configElement : elements) {
+			if (readBoolean(configElement, ATT_RETARGET, false) != retarget) {
+				continue;
+			}
+
 			/*
 			 * We might need the identifier to generate the command, so we'll
 			 * read it out now.
@@ -554,6 +708,9 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 	 *            The view to which this handler is associated. This value is
 	 *            required if this is a view action; otherwise it can be
 	 *            <code>null</code>.
+	 * @param retarget
+	 *            Whether the retargettable actions or all other actions should
+	 *            be read.
 	 * @return An array of references to the created menu elements. This value
 	 *         may be <code>null</code> if there was a problem parsing the
 	 *         configuration element.
@@ -561,14 +718,29 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 	private void readActionsAndMenus(
 			final IConfigurationElement element, final String id,
 			final List warningsToLog,
-			final Expression visibleWhenExpression, final String viewId) {
+			final Expression visibleWhenExpression, final String viewId,
+			final boolean retarget) {
 
 		// Read its child elements.
 		final IConfigurationElement[] actionElements = element
 				.getChildren(TAG_ACTION);
 		readActions(id, actionElements,
-				warningsToLog, visibleWhenExpression, viewId);
+				warningsToLog, visibleWhenExpression, viewId, retarget);
+
+	}
 
+	/**
+	 * Adds the given element to the pending elements with the given
+	 * identifier.
+	 */
+	private static void addPending(final Map<String, List<IConfigurationElement>> pending,
+			final String id, final IConfigurationElement element) {
+		List<IConfigurationElement> elements = pending.get(id);
+		if (elements == null) {
+			elements = new ArrayList<>(1);
+			pending.put(id, elements);
+		}
+		elements.add(element);
 	}
 
 	/**
@@ -615,15 +787,13 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 				continue;
 			}
 
-			// Restrict the handler to when the action set is active.
-			final LegacyActionSetExpression expression = new LegacyActionSetExpression(
-					id, window);
-
-
-			// Read all of the child elements.
-			readActionsAndMenus(element, id,
-					warningsToLog, expression, null);
-			// Define the action set.
+			/*
+			 * Retargettable actions are only mapped to their commands, but
+			 * parts may register global action handlers for them at any time.
+			 * All other actions are read when the action set becomes visible.
+			 */
+			readActionsAndMenus(element, id, warningsToLog, null, null, true);
+			addPending(pendingActionSets, id, element);
 		}
 
 		logWarnings(
@@ -666,12 +836,10 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 			if (targetId == null) {
 				continue;
 			}
-			final Expression visibleWhenExpression = new LegacyEditorContributionExpression(
-					targetId, window);
 
-			// Read all of the child elements from the registry.
-			readActionsAndMenus(element, id, warningsToLog,
-					visibleWhenExpression, null);
+			// Read the child elements when the editor is first activated.
+			readActionsAndMenus(element, id, warningsToLog, null, null, true);
+			addPending(pendingEditorContributions, targetId, element);
 		}
 
 		logWarnings(
@@ -714,12 +882,10 @@ public final class LegacyActionPersistence extends RegistryPersistence {
 			if (targetId == null) {
 				continue;
 			}
-			final Expression visibleWhenExpression = new LegacyViewContributionExpression(
-					targetId, window);
 
-			// Read all of the child elements from the registry.
-			readActionsAndMenus(element, id, warningsToLog,
-					visibleWhenExpression, targetId);
+			// Read the child elements when the view is first activated.
+			readActionsAndMenus(element, id, warningsToLog, null, targetId, true);
+			addPending(pendingViewContributions, targetId, element);
 		}
 
 		logWarnings(
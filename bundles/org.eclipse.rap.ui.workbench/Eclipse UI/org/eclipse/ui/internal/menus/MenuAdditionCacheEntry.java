@@ -19,7 +19,6 @@
 package org.eclipse.ui.internal.menus;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -33,6 +32,7 @@ import org.eclipse.e4.ui.model.application.commands.MCommand;
 import org.eclipse.e4.ui.model.application.commands.MParameter;
 import org.eclipse.e4.ui.model.application.commands.impl.CommandsFactoryImpl;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
+import org.eclipse.e4.ui.model.application.ui.menu.MHandledItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MHandledMenuItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MHandledToolItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
@@ -44,22 +44,29 @@ import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBarContribution;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBarElement;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolControl;
+import org.eclipse.e4.ui.model.application.ui.menu.MToolItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MTrimContribution;
 import org.eclipse.e4.ui.model.application.ui.menu.impl.MenuFactoryImpl;
 import org.eclipse.e4.ui.services.help.EHelpService;
 import org.eclipse.e4.ui.workbench.renderers.swt.MenuManagerRenderer;
 import org.eclipse.jface.resource.ImageDescriptor;
-import org.eclipse.ui.IWorkbench;
-import org.eclipse.ui.activities.IActivityManager;
-import org.eclipse.ui.activities.IIdentifier;
-import org.eclipse.ui.activities.IIdentifierListener;
-import org.eclipse.ui.activities.IdentifierEvent;
 import org.eclipse.ui.commands.ICommandImageService;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.internal.services.ServiceLocator;
 import org.eclipse.ui.menus.CommandContributionItem;
 
+/**
+ * Creates the contribution model elements of one <code>menuContribution</code>
+ * of the <code>org.eclipse.ui.menus</code> extension point. The elements only
+ * depend on the registry, so they are created once and copied into the
+ * application of every session by {@link MenuPersistence}. Commands are
+ * referenced through detached placeholders which are replaced by the commands
+ * of the session's application, the activity identifiers are only recorded in
+ * the persisted state of the elements, and icons that are not declared by the
+ * contribution are looked up in the session's command image service when the
+ * elements are copied, see {@link CommandImages}.
+ */
 public class MenuAdditionCacheEntry {
 	private static final String AFTER_ADDITIONS = "after=additions"; //$NON-NLS-1$
 
@@ -75,6 +82,75 @@ public class MenuAdditionCacheEntry {
 
 	static final String TRIM_STATUS = "org.eclipse.ui.trim.status"; //$NON-NLS-1$
 
+	/**
+	 * The key of the {@link CommandImages} in the transient data of handled
+	 * items.
+	 */
+	static final String COMMAND_IMAGES = "org.eclipse.ui.internal.menus.commandImages"; //$NON-NLS-1$
+
+	/**
+	 * The icons of a handled item that are provided by the command image
+	 * service instead of the contribution. The service belongs to a session,
+	 * so they are resolved for every copy of the item.
+	 */
+	static final class CommandImages {
+		private final String commandId;
+		private final boolean toolItem;
+		private final boolean icon;
+		private final boolean disabledIcon;
+		private final String label;
+
+		CommandImages(String commandId, boolean toolItem, boolean icon, boolean disabledIcon, String label) {
+			this.commandId = commandId;
+			this.toolItem = toolItem;
+			this.icon = icon;
+			this.disabledIcon = disabledIcon;
+			this.label = label;
+		}
+
+		/**
+		 * Sets the icons of the given copy of the item.
+		 *
+		 * @param item
+		 *            the copy of the item
+		 * @param commandImageService
+		 *            the command image service of the session, may be
+		 *            <code>null</code>
+		 */
+		void apply(MHandledItem item, ICommandImageService commandImageService) {
+			if (icon) {
+				ImageDescriptor descriptor = getImageDescriptor(commandImageService, item,
+						ICommandImageService.TYPE_DEFAULT);
+				if (descriptor != null) {
+					item.setIconURI(MenuHelper.getImageUrl(descriptor));
+				} else if (toolItem) {
+					// tool items without an icon show their label
+					item.setLabel(label);
+				}
+			}
+			if (disabledIcon && item instanceof MToolItem) {
+				ImageDescriptor descriptor = getImageDescriptor(commandImageService, item,
+						ICommandImageService.TYPE_DISABLED);
+				if (descriptor != null) {
+					MenuHelper.setDisabledIconURI((MToolItem) item, MenuHelper.getImageUrl(descriptor));
+				}
+			}
+		}
+
+		private ImageDescriptor getImageDescriptor(ICommandImageService commandImageService, MHandledItem item,
+				int type) {
+			if (commandImageService == null) {
+				return null;
+			}
+			String style = toolItem ? ICommandImageService.IMAGE_STYLE_TOOLBAR : ICommandImageService.IMAGE_STYLE_DEFAULT;
+			ImageDescriptor descriptor = commandImageService.getImageDescriptor(commandId, type, style);
+			if (descriptor == null) {
+				descriptor = commandImageService.getImageDescriptor(item.getElementId(), type, style);
+			}
+			return descriptor;
+		}
+	}
+
 	/**
 	 * Test whether the location URI is in one of the pre-defined workbench trim
 	 * areas.
@@ -96,23 +172,15 @@ public class MenuAdditionCacheEntry {
 
 	private String namespaceIdentifier;
 
-	private IActivityManager activityManager;
-
 	public MenuAdditionCacheEntry(MApplication application, IEclipseContext appContext,
 			IConfigurationElement configElement, String attribute, String namespaceIdentifier) {
 		this.application = application;
 		// this.appContext = appContext;
-		assert appContext.equals(this.application.getContext());
+		// the shared templates are read without an application
+		assert application == null || appContext.equals(application.getContext());
 		this.configElement = configElement;
 		this.location = new MenuLocationURI(attribute);
 		this.namespaceIdentifier = namespaceIdentifier;
-
-		IWorkbench workbench = application.getContext().get(IWorkbench.class);
-		activityManager = workbench.getActivitySupport().getActivityManager();
-		
-		// RAP [DM]: 
-		this.registeredIdentifiers = new ArrayList<IIdentifier>();
-		// RAPEND [DM] 
 	}
 
 	private boolean inToolbar() {
@@ -230,16 +298,7 @@ public class MenuAdditionCacheEntry {
 			} else if (IWorkbenchRegistryConstants.TAG_TOOLBAR.equals(itemType)) {
 				System.out.println("Toolbar: " + id + " in " + location); //$NON-NLS-1$//$NON-NLS-2$
 			} else if (IWorkbenchRegistryConstants.TAG_DYNAMIC.equals(itemType)) {
-				ContextFunction generator = new ContextFunction() {
-					@Override
-					public Object compute(IEclipseContext context, String contextKey) {
-						ServiceLocator sl = new ServiceLocator();
-						sl.setContext(context);
-						DynamicMenuContributionItem item = new DynamicMenuContributionItem(
-								MenuHelper.getId(child), sl, child);
-						return item;
-					}
-				};
+				ContextFunction generator = createDynamicMenuGenerator(child);
 
 				MMenuItem menuItem = RenderedElementUtil.createRenderedMenuItem();
 				menuItem.setElementId(id);
@@ -250,6 +309,36 @@ public class MenuAdditionCacheEntry {
 		}
 	}
 
+	/**
+	 * The generators are shared by the copies of all sessions and must not
+	 * refer to the receiver, so they are created in a static context.
+	 */
+	private static ContextFunction createDynamicMenuGenerator(final IConfigurationElement child) {
+		return new ContextFunction() {
+			@Override
+			public Object compute(IEclipseContext context, String contextKey) {
+				ServiceLocator sl = new ServiceLocator();
+				sl.setContext(context);
+				DynamicMenuContributionItem item = new DynamicMenuContributionItem(
+						MenuHelper.getId(child), sl, child);
+				return item;
+			}
+		};
+	}
+
+	private static ContextFunction createDynamicToolBarGenerator(final IConfigurationElement child) {
+		return new ContextFunction() {
+			@Override
+			public Object compute(IEclipseContext context, String contextKey) {
+				ServiceLocator sl = new ServiceLocator();
+				sl.setContext(context);
+				DynamicToolBarContributionItem dynamicItem = new DynamicToolBarContributionItem(
+						MenuHelper.getId(child), sl, child);
+				return dynamicItem;
+			}
+		};
+	}
+
 	/**
 	 * @param iConfigurationElement
 	 * @return
@@ -258,14 +347,7 @@ public class MenuAdditionCacheEntry {
 		MHandledMenuItem item = MenuFactoryImpl.eINSTANCE.createHandledMenuItem();
 		item.setElementId(MenuHelper.getId(commandAddition));
 		String commandId = MenuHelper.getCommandId(commandAddition);
-		MCommand commandById = ContributionsAnalyzer.getCommandById(application, commandId);
-		if (commandById == null) {
-			commandById = CommandsFactoryImpl.eINSTANCE.createCommand();
-			commandById.setElementId(commandId);
-			commandById.setCommandName(commandId);
-			application.getCommands().add(commandById);
-		}
-		item.setCommand(commandById);
+		item.setCommand(createCommandPlaceholder(commandId));
 		Map parms = MenuHelper.getParameters(commandAddition);
 		for (Object obj : parms.entrySet()) {
 			Map.Entry e = (Map.Entry) obj;
@@ -278,17 +360,8 @@ public class MenuAdditionCacheEntry {
 				IWorkbenchRegistryConstants.ATT_ICON);
 
 		if (iconUrl == null) {
-			ICommandImageService commandImageService = application.getContext().get(
-					ICommandImageService.class);
-			ImageDescriptor descriptor = commandImageService == null ? null : commandImageService
-					.getImageDescriptor(commandId);
-			if (descriptor == null) {
-				descriptor = commandImageService == null ? null : commandImageService
-						.getImageDescriptor(item.getElementId());
-			}
-			if (descriptor != null) {
-				item.setIconURI(MenuHelper.getImageUrl(descriptor));
-			}
+			item.getTransientData().put(COMMAND_IMAGES,
+					new CommandImages(commandId, false, true, false, null));
 		} else {
 			item.setIconURI(iconUrl);
 		}
@@ -305,30 +378,26 @@ public class MenuAdditionCacheEntry {
 		return item;
 	}
 
-	private class IdListener implements IIdentifierListener {
-		@Override
-		public void identifierChanged(IdentifierEvent identifierEvent) {
-			application.getContext().set(identifierEvent.getIdentifier().getId(),
-					identifierEvent.getIdentifier().isEnabled());
-		}
+	/**
+	 * Create a command that is not part of any application. It is replaced by
+	 * the command with the same id of the session's application when the
+	 * element is copied, see {@link MenuPersistence}.
+	 */
+	static MCommand createCommandPlaceholder(String commandId) {
+		MCommand command = CommandsFactoryImpl.eINSTANCE.createCommand();
+		command.setElementId(commandId);
+		command.setCommandName(commandId);
+		return command;
 	}
 
-	private IdListener idUpdater = new IdListener();
-
-    private List<IIdentifier> registeredIdentifiers;
-
+	/**
+	 * Record the activity identifier of the item. The identifier is tracked
+	 * for each session when the item is copied, see {@link MenuPersistence}.
+	 */
 	private void createIdentifierTracker(MApplicationElement item) {
 		if (item.getElementId() != null && item.getElementId().length() > 0) {
 			String id = namespaceIdentifier + "/" + item.getElementId(); //$NON-NLS-1$
 			item.getPersistedState().put(MenuManagerRenderer.VISIBILITY_IDENTIFIER, id);
-			final IIdentifier identifier = activityManager.getIdentifier(id);
-			if (identifier != null) {
-				application.getContext().set(identifier.getId(), identifier.isEnabled());
-				identifier.addIdentifierListener(idUpdater);
-				// RAP [DM]:
-				registeredIdentifiers.add(identifier);
-				// RAPEND [DM]
-			}
 		}
 	}
 
@@ -439,16 +508,7 @@ public class MenuAdditionCacheEntry {
 				MToolBarElement element = createToolControlAddition(child);
 				toolBarContribution.getChildren().add(element);
 			} else if (IWorkbenchRegistryConstants.TAG_DYNAMIC.equals(itemType)) {
-				ContextFunction generator = new ContextFunction() {
-					@Override
-					public Object compute(IEclipseContext context, String contextKey) {
-						ServiceLocator sl = new ServiceLocator();
-						sl.setContext(context);
-						DynamicToolBarContributionItem dynamicItem = new DynamicToolBarContributionItem(
-								MenuHelper.getId(child), sl, child);
-						return dynamicItem;
-					}
-				};
+				ContextFunction generator = createDynamicToolBarGenerator(child);
 
 				MToolBarElement element = createToolDynamicAddition(child);
 				RenderedElementUtil.setContributionManager(element, generator);
@@ -504,14 +564,7 @@ public class MenuAdditionCacheEntry {
 		MHandledToolItem item = MenuFactoryImpl.eINSTANCE.createHandledToolItem();
 		item.setElementId(MenuHelper.getId(commandAddition));
 		String commandId = MenuHelper.getCommandId(commandAddition);
-		MCommand commandById = ContributionsAnalyzer.getCommandById(application, commandId);
-		if (commandById == null) {
-			commandById = CommandsFactoryImpl.eINSTANCE.createCommand();
-			commandById.setElementId(commandId);
-			commandById.setCommandName(commandId);
-			application.getCommands().add(commandById);
-		}
-		item.setCommand(commandById);
+		item.setCommand(createCommandPlaceholder(commandId));
 		Map parms = MenuHelper.getParameters(commandAddition);
 		for (Object obj : parms.entrySet()) {
 			Map.Entry e = (Map.Entry) obj;
@@ -522,50 +575,21 @@ public class MenuAdditionCacheEntry {
 		}
 		String iconUrl = MenuHelper.getIconURI(commandAddition,
 				IWorkbenchRegistryConstants.ATT_ICON);
-
-		if (iconUrl == null) {
-			ICommandImageService commandImageService = application.getContext().get(
-					ICommandImageService.class);
-			ImageDescriptor descriptor = commandImageService == null ? null : commandImageService
-					.getImageDescriptor(commandId, ICommandImageService.IMAGE_STYLE_TOOLBAR);
-			if (descriptor == null) {
-				descriptor = commandImageService == null ? null : commandImageService
-						.getImageDescriptor(item.getElementId(),
-								ICommandImageService.IMAGE_STYLE_TOOLBAR);
-				if (descriptor == null) {
-					item.setLabel(MenuHelper.getLabel(commandAddition));
-				} else {
-					item.setIconURI(MenuHelper.getImageUrl(descriptor));
-				}
-			} else {
-				item.setIconURI(MenuHelper.getImageUrl(descriptor));
-			}
-		} else {
+		boolean commandIcon = iconUrl == null;
+		if (iconUrl != null) {
 			item.setIconURI(iconUrl);
 		}
 
 		iconUrl = MenuHelper.getIconURI(commandAddition,
 				IWorkbenchRegistryConstants.ATT_DISABLEDICON);
-		if (iconUrl == null) {
-			ICommandImageService commandImageService = application.getContext().get(
-					ICommandImageService.class);
-			if (commandImageService != null) {
-				ImageDescriptor descriptor = commandImageService.getImageDescriptor(commandId,
-						ICommandImageService.TYPE_DISABLED,
-						ICommandImageService.IMAGE_STYLE_TOOLBAR);
-				if (descriptor == null) {
-					descriptor = commandImageService.getImageDescriptor(item.getElementId(),
-							ICommandImageService.TYPE_DISABLED,
-							ICommandImageService.IMAGE_STYLE_TOOLBAR);
-				}
-				if (descriptor != null) {
-					iconUrl = MenuHelper.getImageUrl(descriptor);
-				}
-			}
-		}
+		boolean commandDisabledIcon = iconUrl == null;
 		if (iconUrl != null) {
 			MenuHelper.setDisabledIconURI(item, iconUrl);
 		}
+		if (commandIcon || commandDisabledIcon) {
+			item.getTransientData().put(COMMAND_IMAGES, new CommandImages(commandId, true, commandIcon,
+					commandDisabledIcon, MenuHelper.getLabel(commandAddition)));
+		}
 
 		item.setTooltip(MenuHelper.getTooltip(commandAddition));
 		item.setType(MenuHelper.getStyle(commandAddition));
@@ -591,20 +615,4 @@ public class MenuAdditionCacheEntry {
 		return "MenuAdditionCacheEntry [id=" + MenuHelper.getId(configElement) //$NON-NLS-1$
 				+ ", namespaceId=" + namespaceIdentifier + ", location=" + location + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	}
-
-	// RAP [DM]:
-    /**
-     * Dispose the instance of this MenuAdditonCacheEntry.java
-     */
-    public void dispose()
-    {
-        for (IIdentifier identifier : registeredIdentifiers)
-        {
-            identifier.removeIdentifierListener(this.idUpdater);
-        }
-        this.registeredIdentifiers = null;
-        
-    }
-    // RAPEND [DM]
-
 }
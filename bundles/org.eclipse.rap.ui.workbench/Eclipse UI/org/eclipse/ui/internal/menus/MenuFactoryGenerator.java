@@ -41,7 +41,8 @@ public class MenuFactoryGenerator {
 			IConfigurationElement configElement, String attribute) {
 		this.application = application;
 		// this.appContext = appContext;
-		assert appContext.equals(this.application.getContext());
+		// the shared templates are read without an application
+		assert application == null || appContext.equals(application.getContext());
 		this.configElement = configElement;
 		this.location = new MenuLocationURI(attribute);
 	}
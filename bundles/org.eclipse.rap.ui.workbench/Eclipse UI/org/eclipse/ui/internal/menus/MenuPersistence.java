@@ -17,9 +17,14 @@
 package org.eclipse.ui.internal.menus;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
@@ -28,10 +33,26 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.ui.internal.workbench.ContributionsAnalyzer;
 import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
+import org.eclipse.e4.ui.model.application.ui.menu.MHandledItem;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenuContribution;
 import org.eclipse.e4.ui.model.application.ui.menu.MToolBarContribution;
 import org.eclipse.e4.ui.model.application.ui.menu.MTrimContribution;
+import org.eclipse.e4.ui.workbench.renderers.swt.MenuManagerRenderer;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.osgi.service.localization.LocaleProvider;
+import org.eclipse.rap.ui.internal.SessionLocaleProvider;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.activities.IActivityManager;
+import org.eclipse.ui.activities.IIdentifier;
+import org.eclipse.ui.activities.IIdentifierListener;
+import org.eclipse.ui.commands.ICommandImageService;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
 import org.eclipse.ui.internal.services.RegistryPersistence;
 
 /**
@@ -39,6 +60,12 @@ import org.eclipse.ui.internal.services.RegistryPersistence;
  * A static class for accessing the registry.
  * </p>
  * <p>
+ * The contribution model elements generated from the registry are the same
+ * for all sessions. They are generated once per locale of the translated
+ * labels, see {@link Contributions}, and every session adds copies of them to
+ * its application.
+ * </p>
+ * <p>
  * This class is not intended for use outside of the
  * <code>org.eclipse.ui.workbench</code> plug-in.
  * </p>
@@ -47,15 +74,65 @@ import org.eclipse.ui.internal.services.RegistryPersistence;
  */
 final public class MenuPersistence extends RegistryPersistence {
 
+	/**
+	 * The merged contribution model elements generated from the registry. The
+	 * elements are templates: they are never added to an application and
+	 * must not be modified.
+	 */
+	private static final class Contributions {
+
+		final List<MMenuContribution> menuContributions;
+		final List<MToolBarContribution> toolBarContributions;
+		final List<MTrimContribution> trimContributions;
+
+		Contributions(List<MMenuContribution> menuContributions,
+				List<MToolBarContribution> toolBarContributions,
+				List<MTrimContribution> trimContributions) {
+			this.menuContributions = Collections.unmodifiableList(menuContributions);
+			this.toolBarContributions = Collections.unmodifiableList(toolBarContributions);
+			this.trimContributions = Collections.unmodifiableList(trimContributions);
+			// EMF creates lists and maps on first access, so access all of them
+			// now and copy the templates from any session without side effects
+			initializeFeatures(menuContributions);
+			initializeFeatures(toolBarContributions);
+			initializeFeatures(trimContributions);
+		}
+
+		private static void initializeFeatures(List<?> elements) {
+			TreeIterator<EObject> contents = EcoreUtil.getAllContents(elements, false);
+			while (contents.hasNext()) {
+				EObject element = contents.next();
+				for (EStructuralFeature feature : element.eClass().getEAllStructuralFeatures()) {
+					element.eGet(feature);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Provides the locale the registry attributes are translated to.
+	 */
+	private static final LocaleProvider LOCALE_PROVIDER = new SessionLocaleProvider();
+
+	/**
+	 * The contributions generated from the registry, per locale of the
+	 * translated labels. They are shared by all sessions and discarded when
+	 * the menu extensions change.
+	 */
+	private static final Map<Locale, Contributions> contributionsByLocale = new ConcurrentHashMap<>();
+
 	private MApplication application;
 	private IEclipseContext appContext;
-	private ArrayList<MenuAdditionCacheEntry> cacheEntries = new ArrayList<>();
 
 	private ArrayList<MMenuContribution> menuContributions = new ArrayList<>();
 	private ArrayList<MToolBarContribution> toolBarContributions = new ArrayList<>();
 	private ArrayList<MTrimContribution> trimContributions = new ArrayList<>();
 
-	private final Comparator<IConfigurationElement> comparer = (c1, c2) -> c1.getContributor().getName().compareToIgnoreCase(c2.getContributor().getName());
+	private final IIdentifierListener identifierListener = event -> application.getContext()
+			.set(event.getIdentifier().getId(), event.getIdentifier().isEnabled());
+	private final List<IIdentifier> registeredIdentifiers = new ArrayList<>();
+
+	private static final Comparator<IConfigurationElement> comparer = (c1, c2) -> c1.getContributor().getName().compareToIgnoreCase(c2.getContributor().getName());
 	private Pattern contributorFilter;
 
 	/**
@@ -74,15 +151,16 @@ final public class MenuPersistence extends RegistryPersistence {
 
 	@Override
 	public void dispose() {
-		ControlContributionRegistry.clear();
 		application.getMenuContributions().removeAll(menuContributions);
 		application.getToolBarContributions().removeAll(toolBarContributions);
 		application.getTrimContributions().removeAll(trimContributions);
 		menuContributions.clear();
-		// RAP [DM]:
-		cacheEntries.forEach(e -> e.dispose());
-		// RAPEND [DM]
-		cacheEntries.clear();
+		toolBarContributions.clear();
+		trimContributions.clear();
+		for (IIdentifier identifier : registeredIdentifiers) {
+			identifier.removeIdentifierListener(identifierListener);
+		}
+		registeredIdentifiers.clear();
 		super.dispose();
 	}
 	@Override
@@ -98,26 +176,143 @@ final public class MenuPersistence extends RegistryPersistence {
 	protected void read() {
 		super.read();
 
-		readAdditions();
+		Contributions contributions;
+		if (contributorFilter == null) {
+			contributions = getContributions(application, appContext);
+		} else {
+			contributions = readContributions(application, appContext, contributorFilter);
+		}
 
-		ArrayList<MMenuContribution> tmp = new ArrayList<>(menuContributions);
-		menuContributions.clear();
-		ContributionsAnalyzer.mergeContributions(tmp, menuContributions);
-		application.getMenuContributions().addAll(menuContributions);
+		EcoreUtil.Copier copier = new EcoreUtil.Copier();
+		Collection<MMenuContribution> menuCopies = copier.copyAll(contributions.menuContributions);
+		Collection<MToolBarContribution> toolBarCopies = copier.copyAll(contributions.toolBarContributions);
+		Collection<MTrimContribution> trimCopies = copier.copyAll(contributions.trimContributions);
+		copier.copyReferences();
+		attachToApplication(copier);
 
-		ArrayList<MToolBarContribution> tmpToolbar = new ArrayList<>(
-				toolBarContributions);
-		toolBarContributions.clear();
-		ContributionsAnalyzer.mergeToolBarContributions(tmpToolbar, toolBarContributions);
-		application.getToolBarContributions().addAll(toolBarContributions);
+		menuContributions.addAll(menuCopies);
+		application.getMenuContributions().addAll(menuCopies);
+		toolBarContributions.addAll(toolBarCopies);
+		application.getToolBarContributions().addAll(toolBarCopies);
+		trimContributions.addAll(trimCopies);
+		application.getTrimContributions().addAll(trimCopies);
+	}
 
-		ArrayList<MTrimContribution> tmpTrim = new ArrayList<>(trimContributions);
-		trimContributions.clear();
-		ContributionsAnalyzer.mergeTrimContributions(tmpTrim, trimContributions);
-		application.getTrimContributions().addAll(trimContributions);
+	/**
+	 * Connect the copied elements to the application: share the transient
+	 * data of the templates except for the contribution factories, replace the command placeholders by the commands
+	 * of the application, set the icons provided by the command image service of the session and track the
+	 * activity identifiers of the elements.
+	 */
+	private void attachToApplication(Map<EObject, EObject> copies) {
+		IWorkbench workbench = application.getContext().get(IWorkbench.class);
+		IActivityManager activityManager = workbench.getActivitySupport().getActivityManager();
+		ICommandImageService commandImageService = application.getContext().get(ICommandImageService.class);
+		for (Map.Entry<EObject, EObject> entry : copies.entrySet()) {
+			if (!(entry.getValue() instanceof MApplicationElement)) {
+				continue;
+			}
+			MApplicationElement template = (MApplicationElement) entry.getKey();
+			MApplicationElement element = (MApplicationElement) entry.getValue();
+			for (Map.Entry<String, Object> data : template.getTransientData().entrySet()) {
+				Object value = data.getValue();
+				if (value instanceof ContributionFactoryGenerator) {
+					// each session creates its own factory
+					value = ((ContributionFactoryGenerator) value).copy();
+				} else if (value instanceof MenuAdditionCacheEntry.CommandImages) {
+					continue;
+				}
+				element.getTransientData().put(data.getKey(), value);
+			}
+			if (element instanceof MHandledItem) {
+				MHandledItem item = (MHandledItem) element;
+				MCommand command = item.getCommand();
+				if (command != null) {
+					item.setCommand(getCommand(command.getElementId()));
+				}
+				Object images = template.getTransientData().get(MenuAdditionCacheEntry.COMMAND_IMAGES);
+				if (images instanceof MenuAdditionCacheEntry.CommandImages) {
+					((MenuAdditionCacheEntry.CommandImages) images).apply(item, commandImageService);
+				}
+			}
+			String id = element.getPersistedState().get(MenuManagerRenderer.VISIBILITY_IDENTIFIER);
+			if (id != null) {
+				IIdentifier identifier = activityManager.getIdentifier(id);
+				if (identifier != null) {
+					application.getContext().set(identifier.getId(), identifier.isEnabled());
+					identifier.addIdentifierListener(identifierListener);
+					registeredIdentifiers.add(identifier);
+				}
+			}
+		}
+	}
+
+	private MCommand getCommand(String commandId) {
+		MCommand command = ContributionsAnalyzer.getCommandById(application, commandId);
+		if (command == null) {
+			command = MenuAdditionCacheEntry.createCommandPlaceholder(commandId);
+			application.getCommands().add(command);
+		}
+		return command;
+	}
+
+	private static Contributions getContributions(MApplication application, IEclipseContext appContext) {
+		registerContributions();
+		Locale locale = LOCALE_PROVIDER.getLocale();
+		Contributions contributions = contributionsByLocale.get(locale);
+		SharedRegistryCaches.recordLookup(contributions != null);
+		if (contributions == null) {
+			contributions = contributionsByLocale.computeIfAbsent(locale,
+					key -> readContributions(application, appContext, null));
+		}
+		return contributions;
+	}
+
+	/**
+	 * Reads the contribution templates for the default locale ahead of the
+	 * first session, unless they are already cached. The templates do not
+	 * refer to an application, so none is needed to read them.
+	 */
+	public static void warmUp() {
+		registerContributions();
+		contributionsByLocale.computeIfAbsent(Locale.getDefault(),
+				locale -> readContributions(null, null, null));
+	}
+
+	private static void registerContributions() {
+		SharedRegistryCaches.register(MenuPersistence.class, SharedRegistryCaches.affectsExtensionPoints(PL_MENUS),
+				MenuPersistence::clearContributions);
+	}
+
+	private static void clearContributions() {
+		contributionsByLocale.clear();
+		// the controls of removed contributions are not rendered any more
+		ControlContributionRegistry.removeInvalid();
+	}
+
+	private static Contributions readContributions(MApplication application, IEclipseContext appContext,
+			Pattern contributorFilter) {
+		ArrayList<MMenuContribution> menuContributions = new ArrayList<>();
+		ArrayList<MToolBarContribution> toolBarContributions = new ArrayList<>();
+		ArrayList<MTrimContribution> trimContributions = new ArrayList<>();
+		readAdditions(application, appContext, contributorFilter, menuContributions, toolBarContributions,
+				trimContributions);
+
+		ArrayList<MMenuContribution> mergedMenuContributions = new ArrayList<>();
+		ContributionsAnalyzer.mergeContributions(menuContributions, mergedMenuContributions);
+
+		ArrayList<MToolBarContribution> mergedToolBarContributions = new ArrayList<>();
+		ContributionsAnalyzer.mergeToolBarContributions(toolBarContributions, mergedToolBarContributions);
+
+		ArrayList<MTrimContribution> mergedTrimContributions = new ArrayList<>();
+		ContributionsAnalyzer.mergeTrimContributions(trimContributions, mergedTrimContributions);
+
+		return new Contributions(mergedMenuContributions, mergedToolBarContributions, mergedTrimContributions);
 	}
 
-	private void readAdditions() {
+	private static void readAdditions(MApplication application, IEclipseContext appContext,
+			Pattern contributorFilter, ArrayList<MMenuContribution> menuContributions,
+			ArrayList<MToolBarContribution> toolBarContributions, ArrayList<MTrimContribution> trimContributions) {
 		final IExtensionRegistry registry = Platform.getExtensionRegistry();
 		ArrayList<IConfigurationElement> configElements = new ArrayList<>();
 		// Create a cache entry for every menu addition;
@@ -145,7 +340,6 @@ final public class MenuPersistence extends RegistryPersistence {
 						appContext, configElement,
 						configElement.getAttribute(IWorkbenchRegistryConstants.TAG_LOCATION_URI),
 						configElement.getNamespaceIdentifier());
-				cacheEntries.add(menuContribution);
 				menuContribution.mergeIntoModel(menuContributions, toolBarContributions,
 						trimContributions);
 			}
@@ -153,7 +347,7 @@ final public class MenuPersistence extends RegistryPersistence {
 	}
 
 
-	private boolean isProgramaticContribution(IConfigurationElement menuAddition) {
+	private static boolean isProgramaticContribution(IConfigurationElement menuAddition) {
 		return menuAddition.getAttribute(IWorkbenchRegistryConstants.ATT_CLASS) != null;
 	}
 }
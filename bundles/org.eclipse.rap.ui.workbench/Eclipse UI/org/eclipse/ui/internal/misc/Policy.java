@@ -161,6 +161,18 @@ public class Policy {
      */
     public static boolean DEBUG_WORKING_SETS = DEFAULT;
 
+    /**
+     * Whether or not the phases of the workbench startup are timed and
+     * published by the {@link StartupProfiler}.
+     */
+    public static boolean DEBUG_STARTUP_PROFILE = DEFAULT;
+
+    /**
+     * The file the statistics of the {@link StartupProfiler} are written to as
+     * JSON when the workbench plug-in stops, or <code>null</code>.
+     */
+    public static String DEBUG_STARTUP_PROFILE_FILE = null;
+
     static {
         if (getDebugOption("/debug")) { //$NON-NLS-1$
             DEBUG_SWT_GRAPHICS = getDebugOption("/trace/graphics"); //$NON-NLS-1$
@@ -193,6 +205,13 @@ public class Policy {
             EXPERIMENTAL_MENU = getDebugOption("/experimental/menus"); //$NON-NLS-1$
             DEBUG_MPE = getDebugOption("/trace/multipageeditor"); //$NON-NLS-1$
             DEBUG_WORKING_SETS = getDebugOption("/debug/workingSets"); //$NON-NLS-1$
+            DEBUG_STARTUP_PROFILE = getDebugOption("/debug/startupProfile"); //$NON-NLS-1$
+            DEBUG_STARTUP_PROFILE_FILE = Platform
+                    .getDebugOption(PlatformUI.PLUGIN_ID
+                            + "/debug/startupProfile/file"); //$NON-NLS-1$
+            if ("".equals(DEBUG_STARTUP_PROFILE_FILE)) { //$NON-NLS-1$
+            	DEBUG_STARTUP_PROFILE_FILE = null;
+            }
 
 // RAP [rh] Device#DEBUG not implemented
 //            if(DEBUG_SWT_DEBUG_GLOBAL)
@@ -0,0 +1,683 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.misc;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+
+/**
+ * Records the duration and the allocated bytes of the phases of the workbench
+ * startup, aggregated over all sessions of the application. The statistics are
+ * published as the {@link StartupProfilerMXBean} <code>{@value #OBJECT_NAME}</code>
+ * on the platform MBean server.
+ * <p>
+ * The profiler is turned on with the <code>/debug/startupProfile</code> option,
+ * see {@link Policy#DEBUG_STARTUP_PROFILE}. When it is turned off,
+ * {@link #start(String)} returns a shared phase that does nothing.
+ * </p>
+ * <p>
+ * Typical usage:
+ * </p>
+ *
+ * <pre>
+ * StartupProfiler.Phase phase = StartupProfiler.start(&quot;Workbench.init&quot;);
+ * try {
+ * 	init();
+ * } finally {
+ * 	phase.end();
+ * }
+ * </pre>
+ * <p>
+ * Phases are ended in a <code>finally</code> block, so that phases that throw
+ * are recorded too. Phases can be nested, each phase includes the duration and
+ * the allocations of its nested phases.
+ * </p>
+ * <p>
+ * If the virtual machine supports the JDK Flight Recorder, every phase is also
+ * emitted as a <code>{@value #EVENT_NAME}</code> event with the name of the
+ * phase and its allocated bytes, to be correlated with the other events of a
+ * recording.
+ * </p>
+ * <p>
+ * The statistics can be exported as JSON with
+ * {@link StartupProfilerMXBean#toJson()}, and are written to the file given by
+ * the <code>/debug/startupProfile/file</code> option when the workbench
+ * plug-in stops, see {@link Policy#DEBUG_STARTUP_PROFILE_FILE}.
+ * </p>
+ */
+public final class StartupProfiler {
+
+	/**
+	 * The name the profiler is registered with on the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "org.eclipse.rap.ui:type=StartupProfiler"; //$NON-NLS-1$
+
+	/**
+	 * The name of the Flight Recorder events of the phases.
+	 */
+	public static final String EVENT_NAME = "org.eclipse.rap.ui.StartupPhase"; //$NON-NLS-1$
+
+	/**
+	 * Whether phases are recorded.
+	 */
+	public static final boolean ENABLED = Policy.DEBUG_STARTUP_PROFILE;
+
+	/**
+	 * The number of histogram buckets. Bucket <code>i</code> counts the
+	 * values below <code>2^i</code> units that are not counted by a lower
+	 * bucket, the last bucket counts all remaining values.
+	 */
+	private static final int BUCKETS = 24;
+
+	private static final Phase NULL_PHASE = new Phase(null);
+
+	private static final Map<String, PhaseRecord> records = new ConcurrentHashMap<>();
+
+	private static final ClassValue<String> runnableNames = new ClassValue<String>() {
+		@Override
+		protected String computeValue(Class<?> type) {
+			return getRunnableName(type);
+		}
+	};
+
+	private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+	private static volatile Method allocatedBytesMethod;
+
+	private static volatile boolean registered;
+
+	private static volatile FlightRecorderEvents flightRecorderEvents;
+
+	static {
+		if (ENABLED) {
+			allocatedBytesMethod = getAllocatedBytesMethod();
+			flightRecorderEvents = FlightRecorderEvents.create();
+		}
+	}
+
+	private StartupProfiler() {
+		// not instantiated
+	}
+
+	/**
+	 * Starts a phase.
+	 *
+	 * @param name
+	 *            the name of the phase, phases with the same name are
+	 *            aggregated
+	 * @return the phase to end once it is done, never <code>null</code>
+	 */
+	public static Phase start(String name) {
+		if (!ENABLED) {
+			return NULL_PHASE;
+		}
+		if (!registered) {
+			register();
+		}
+		return new Phase(name);
+	}
+
+	/**
+	 * Starts a phase named after the given startup runnable, i.e. after the
+	 * method that declares it and its class name.
+	 *
+	 * @param runnable
+	 *            the runnable that is about to be run
+	 * @return the phase to end once it is done, never <code>null</code>
+	 */
+	public static Phase start(Runnable runnable) {
+		if (!ENABLED) {
+			return NULL_PHASE;
+		}
+		return start(runnableNames.get(runnable.getClass()));
+	}
+
+	/**
+	 * Unregisters the profiler from the platform MBean server and writes the
+	 * statistics to the file given by {@link Policy#DEBUG_STARTUP_PROFILE_FILE},
+	 * if any. The statistics recorded so far are kept.
+	 */
+	public static synchronized void dispose() {
+		if (ENABLED && Policy.DEBUG_STARTUP_PROFILE_FILE != null) {
+			writeJson(new File(Policy.DEBUG_STARTUP_PROFILE_FILE));
+		}
+		if (registered) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+			} catch (Exception e) {
+				WorkbenchPlugin.log("Unable to unregister the startup profiler", //$NON-NLS-1$
+						StatusUtil.newStatus(IStatus.WARNING, e.getMessage(), e));
+			}
+			registered = false;
+		}
+	}
+
+	private static void writeJson(File file) {
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			writer.write(toJson(getPhases()));
+		} catch (IOException e) {
+			WorkbenchPlugin.log("Unable to write the startup profile to " + file, //$NON-NLS-1$
+					StatusUtil.newStatus(IStatus.WARNING, e.getMessage(), e));
+		}
+	}
+
+	private static PhaseStatistics[] getPhases() {
+		List<PhaseStatistics> result = new ArrayList<>(records.size());
+		for (PhaseRecord record : records.values()) {
+			result.add(record.getStatistics());
+		}
+		result.sort((a, b) -> a.getName().compareTo(b.getName()));
+		return result.toArray(new PhaseStatistics[result.size()]);
+	}
+
+	private static long[] getHistogramBounds() {
+		long[] bounds = new long[BUCKETS - 1];
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = 1L << i;
+		}
+		return bounds;
+	}
+
+	/**
+	 * Returns the given statistics as a JSON object with the histogram bounds,
+	 * whether allocations are measured, and one object per phase.
+	 */
+	private static String toJson(PhaseStatistics[] phases) {
+		StringBuilder json = new StringBuilder(256 + phases.length * 512);
+		json.append("{\n  \"histogramBounds\": "); //$NON-NLS-1$
+		appendArray(json, getHistogramBounds());
+		json.append(",\n  \"allocationMeasured\": ").append(allocatedBytesMethod != null); //$NON-NLS-1$
+		json.append(",\n  \"phases\": ["); //$NON-NLS-1$
+		for (int i = 0; i < phases.length; i++) {
+			PhaseStatistics phase = phases[i];
+			json.append(i == 0 ? "\n    {" : ",\n    {"); //$NON-NLS-1$ //$NON-NLS-2$
+			json.append("\"name\": "); //$NON-NLS-1$
+			appendString(json, phase.getName());
+			json.append(", \"count\": ").append(phase.getCount()); //$NON-NLS-1$
+			json.append(", \"totalNanos\": ").append(phase.getTotalNanos()); //$NON-NLS-1$
+			json.append(", \"meanNanos\": ").append(phase.getMeanNanos()); //$NON-NLS-1$
+			json.append(", \"maxNanos\": ").append(phase.getMaxNanos()); //$NON-NLS-1$
+			json.append(", \"totalAllocatedBytes\": ").append(phase.getTotalAllocatedBytes()); //$NON-NLS-1$
+			json.append(", \"durationHistogram\": "); //$NON-NLS-1$
+			appendArray(json, phase.durationHistogram);
+			json.append(", \"allocationHistogram\": "); //$NON-NLS-1$
+			appendArray(json, phase.allocationHistogram);
+			json.append('}');
+		}
+		json.append(phases.length == 0 ? "]\n}\n" : "\n  ]\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		return json.toString();
+	}
+
+	private static void appendArray(StringBuilder json, long[] values) {
+		json.append('[');
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				json.append(", "); //$NON-NLS-1$
+			}
+			json.append(values[i]);
+		}
+		json.append(']');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	private static synchronized void register() {
+		if (registered) {
+			return;
+		}
+		registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new StartupProfilerMXBeanImpl(), name);
+			}
+		} catch (Exception e) {
+			WorkbenchPlugin.log("Unable to register the startup profiler", //$NON-NLS-1$
+					StatusUtil.newStatus(IStatus.WARNING, e.getMessage(), e));
+		}
+	}
+
+	private static String getRunnableName(Class<?> type) {
+		String className = type.getName();
+		String simpleName = className.substring(className.lastIndexOf('.') + 1);
+		Method method = type.getEnclosingMethod();
+		if (method == null) {
+			return simpleName;
+		}
+		return method.getDeclaringClass().getSimpleName() + '.' + method.getName() + " [" + simpleName + ']'; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns <code>com.sun.management.ThreadMXBean.getThreadAllocatedBytes(long)</code>
+	 * if the virtual machine supports it, <code>null</code> otherwise. The
+	 * method is looked up reflectively as it is not part of the execution
+	 * environment.
+	 */
+	private static Method getAllocatedBytesMethod() {
+		try {
+			Class<?> type = Class.forName("com.sun.management.ThreadMXBean"); //$NON-NLS-1$
+			if (!type.isInstance(threadBean)) {
+				return null;
+			}
+			boolean supported = ((Boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(threadBean)) //$NON-NLS-1$
+					.booleanValue();
+			if (!supported) {
+				return null;
+			}
+			type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(threadBean, Boolean.TRUE); //$NON-NLS-1$
+			return type.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+		} catch (Exception e) {
+			return null;
+		} catch (LinkageError e) {
+			return null;
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		Method method = allocatedBytesMethod;
+		if (method == null) {
+			return -1;
+		}
+		try {
+			return ((Long) method.invoke(threadBean, Long.valueOf(Thread.currentThread().getId()))).longValue();
+		} catch (Exception e) {
+			allocatedBytesMethod = null;
+			return -1;
+		}
+	}
+
+	private static void record(String name, long nanos, long allocatedBytes) {
+		PhaseRecord record = records.get(name);
+		if (record == null) {
+			record = records.computeIfAbsent(name, PhaseRecord::new);
+		}
+		record.add(nanos, allocatedBytes);
+	}
+
+	private static int getBucket(long value) {
+		if (value <= 0) {
+			return 0;
+		}
+		return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+	}
+
+	/**
+	 * A running phase.
+	 */
+	public static final class Phase {
+
+		private final String name;
+
+		private final long startNanos;
+
+		private final long startAllocatedBytes;
+
+		private final Object event;
+
+		Phase(String name) {
+			this.name = name;
+			if (name == null) {
+				startNanos = 0;
+				startAllocatedBytes = -1;
+				event = null;
+			} else {
+				FlightRecorderEvents events = flightRecorderEvents;
+				event = events == null ? null : events.begin();
+				startAllocatedBytes = getAllocatedBytes();
+				startNanos = System.nanoTime();
+			}
+		}
+
+		/**
+		 * Ends this phase and records its duration and allocated bytes. Must
+		 * be called in the thread that started the phase.
+		 */
+		public void end() {
+			if (name == null) {
+				return;
+			}
+			long nanos = System.nanoTime() - startNanos;
+			long allocatedBytes = -1;
+			if (startAllocatedBytes != -1) {
+				long endAllocatedBytes = getAllocatedBytes();
+				if (endAllocatedBytes != -1) {
+					allocatedBytes = endAllocatedBytes - startAllocatedBytes;
+				}
+			}
+			record(name, nanos, allocatedBytes);
+			FlightRecorderEvents events = flightRecorderEvents;
+			if (event != null && events != null) {
+				events.commit(event, name, allocatedBytes);
+			}
+		}
+	}
+
+	/**
+	 * Creates and commits the Flight Recorder events of the phases. The
+	 * events are defined through <code>jdk.jfr.EventFactory</code>, which is
+	 * accessed reflectively as it is not part of the execution environment.
+	 */
+	private static final class FlightRecorderEvents {
+
+		private final Object factory;
+
+		private final Method newEvent;
+
+		private final Method begin;
+
+		private final Method end;
+
+		private final Method set;
+
+		private final Method commit;
+
+		private FlightRecorderEvents(Object factory, Method newEvent, Class<?> eventType) throws Exception {
+			this.factory = factory;
+			this.newEvent = newEvent;
+			begin = eventType.getMethod("begin"); //$NON-NLS-1$
+			end = eventType.getMethod("end"); //$NON-NLS-1$
+			set = eventType.getMethod("set", int.class, Object.class); //$NON-NLS-1$
+			commit = eventType.getMethod("commit"); //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the events, or <code>null</code> if the virtual machine does
+		 * not support the Flight Recorder.
+		 */
+		static FlightRecorderEvents create() {
+			try {
+				ClassLoader loader = ClassLoader.getSystemClassLoader();
+				Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement", true, loader); //$NON-NLS-1$
+				Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor", true, loader); //$NON-NLS-1$
+				Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory", true, loader); //$NON-NLS-1$
+				Class<?> eventType = Class.forName("jdk.jfr.Event", true, loader); //$NON-NLS-1$
+				List<Object> annotations = new ArrayList<>();
+				annotations.add(newAnnotation(annotationElement, loader, "jdk.jfr.Name", EVENT_NAME)); //$NON-NLS-1$
+				annotations.add(newAnnotation(annotationElement, loader, "jdk.jfr.Label", "Startup Phase")); //$NON-NLS-1$ //$NON-NLS-2$
+				annotations.add(newAnnotation(annotationElement, loader, "jdk.jfr.Category", //$NON-NLS-1$
+						new String[] { "Eclipse RAP" })); //$NON-NLS-1$
+				List<Object> fields = new ArrayList<>();
+				fields.add(valueDescriptor.getConstructor(Class.class, String.class).newInstance(String.class,
+						"phase")); //$NON-NLS-1$
+				fields.add(valueDescriptor.getConstructor(Class.class, String.class).newInstance(long.class,
+						"allocatedBytes")); //$NON-NLS-1$
+				Object factory = eventFactory.getMethod("create", List.class, List.class).invoke(null, //$NON-NLS-1$
+						annotations, fields);
+				return new FlightRecorderEvents(factory, eventFactory.getMethod("newEvent"), eventType); //$NON-NLS-1$
+			} catch (Exception e) {
+				return null;
+			} catch (LinkageError e) {
+				return null;
+			}
+		}
+
+		private static Object newAnnotation(Class<?> annotationElement, ClassLoader loader, String type,
+				Object value) throws Exception {
+			Class<?> annotationType = Class.forName(type, true, loader);
+			return annotationElement.getConstructor(Class.class, Object.class).newInstance(annotationType, value);
+		}
+
+		Object begin() {
+			try {
+				Object event = newEvent.invoke(factory);
+				begin.invoke(event);
+				return event;
+			} catch (Exception e) {
+				flightRecorderEvents = null;
+				return null;
+			}
+		}
+
+		void commit(Object event, String name, long allocatedBytes) {
+			try {
+				end.invoke(event);
+				set.invoke(event, Integer.valueOf(0), name);
+				set.invoke(event, Integer.valueOf(1), Long.valueOf(allocatedBytes));
+				commit.invoke(event);
+			} catch (Exception e) {
+				flightRecorderEvents = null;
+			}
+		}
+	}
+
+	private static final class PhaseRecord {
+
+		final String name;
+
+		final AtomicLong count = new AtomicLong();
+
+		final AtomicLong totalNanos = new AtomicLong();
+
+		final AtomicLong maxNanos = new AtomicLong();
+
+		final AtomicLong totalAllocatedBytes = new AtomicLong();
+
+		final AtomicLongArray durationHistogram = new AtomicLongArray(BUCKETS);
+
+		final AtomicLongArray allocationHistogram = new AtomicLongArray(BUCKETS);
+
+		PhaseRecord(String name) {
+			this.name = name;
+		}
+
+		void add(long nanos, long allocatedBytes) {
+			count.incrementAndGet();
+			totalNanos.addAndGet(nanos);
+			long max = maxNanos.get();
+			while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+				max = maxNanos.get();
+			}
+			durationHistogram.incrementAndGet(getBucket(nanos / 1000));
+			if (allocatedBytes >= 0) {
+				totalAllocatedBytes.addAndGet(allocatedBytes);
+				allocationHistogram.incrementAndGet(getBucket(allocatedBytes / 1024));
+			}
+		}
+
+		PhaseStatistics getStatistics() {
+			long[] durations = new long[BUCKETS];
+			long[] allocations = new long[BUCKETS];
+			for (int i = 0; i < BUCKETS; i++) {
+				durations[i] = durationHistogram.get(i);
+				allocations[i] = allocationHistogram.get(i);
+			}
+			return new PhaseStatistics(name, count.get(), totalNanos.get(), maxNanos.get(),
+					totalAllocatedBytes.get(), durations, allocations);
+		}
+	}
+
+	/**
+	 * The statistics of all runs of a phase.
+	 */
+	public static final class PhaseStatistics {
+
+		private final String name;
+
+		private final long count;
+
+		private final long totalNanos;
+
+		private final long maxNanos;
+
+		private final long totalAllocatedBytes;
+
+		private final long[] durationHistogram;
+
+		private final long[] allocationHistogram;
+
+		PhaseStatistics(String name, long count, long totalNanos, long maxNanos, long totalAllocatedBytes,
+				long[] durationHistogram, long[] allocationHistogram) {
+			this.name = name;
+			this.count = count;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.totalAllocatedBytes = totalAllocatedBytes;
+			this.durationHistogram = durationHistogram;
+			this.allocationHistogram = allocationHistogram;
+		}
+
+		/**
+		 * @return the name of the phase
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the number of times the phase was run
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * @return the total duration of all runs in nanoseconds
+		 */
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		/**
+		 * @return the longest run in nanoseconds
+		 */
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		/**
+		 * @return the mean duration of a run in nanoseconds
+		 */
+		public long getMeanNanos() {
+			return count == 0 ? 0 : totalNanos / count;
+		}
+
+		/**
+		 * @return the total bytes allocated by all runs, or 0 if the virtual
+		 *         machine does not measure allocations
+		 */
+		public long getTotalAllocatedBytes() {
+			return totalAllocatedBytes;
+		}
+
+		/**
+		 * @return the number of runs per duration in microseconds, see
+		 *         {@link StartupProfilerMXBean#getHistogramBounds()}
+		 */
+		public long[] getDurationHistogram() {
+			return durationHistogram.clone();
+		}
+
+		/**
+		 * @return the number of runs per allocated kilobytes, see
+		 *         {@link StartupProfilerMXBean#getHistogramBounds()}
+		 */
+		public long[] getAllocationHistogram() {
+			return allocationHistogram.clone();
+		}
+	}
+
+	/**
+	 * The management interface of the startup profiler.
+	 */
+	public interface StartupProfilerMXBean {
+
+		/**
+		 * @return the statistics of all phases run so far, sorted by name
+		 */
+		PhaseStatistics[] getPhases();
+
+		/**
+		 * @return the exclusive upper bounds of the histogram buckets but the
+		 *         last one, in microseconds for durations and in kilobytes
+		 *         for allocations
+		 */
+		long[] getHistogramBounds();
+
+		/**
+		 * @return whether allocations are measured by this virtual machine
+		 */
+		boolean isAllocationMeasured();
+
+		/**
+		 * Discards the statistics recorded so far.
+		 */
+		void reset();
+
+		/**
+		 * @return the statistics of all phases run so far as a JSON object,
+		 *         with the histogram bounds, whether allocations are measured
+		 *         and the array of phases sorted by name
+		 */
+		String toJson();
+	}
+
+	private static final class StartupProfilerMXBeanImpl implements StartupProfilerMXBean {
+
+		@Override
+		public PhaseStatistics[] getPhases() {
+			return StartupProfiler.getPhases();
+		}
+
+		@Override
+		public long[] getHistogramBounds() {
+			return StartupProfiler.getHistogramBounds();
+		}
+
+		@Override
+		public boolean isAllocationMeasured() {
+			return allocatedBytesMethod != null;
+		}
+
+		@Override
+		public void reset() {
+			records.clear();
+		}
+
+		@Override
+		public String toJson() {
+			return StartupProfiler.toJson(getPhases());
+		}
+	}
+}
@@ -46,6 +46,16 @@ public class StringMatcher {
 		private String[] fragments = null;
 		private final String pattern;
 
+		/*
+		 * Fragments compiled into char arrays, together with their upper and
+		 * lower case forms, so that matching does not re-derive them per
+		 * candidate.
+		 */
+		private char[][] fragmentChars;
+		private char[][] upperFragmentChars;
+		private char[][] lowerFragmentChars;
+		private boolean[] fragmentHasSingleWildCard;
+
 		Word(String pattern) {
 			this.pattern = pattern;
 		}
@@ -114,6 +124,84 @@ public class StringMatcher {
 
 			this.fragments = new String[temp.size()];
 			temp.copyInto(this.fragments);
+			compileFragments();
+		}
+
+		private void compileFragments() {
+			int count = this.fragments.length;
+			this.fragmentChars = new char[count][];
+			this.upperFragmentChars = new char[count][];
+			this.lowerFragmentChars = new char[count][];
+			this.fragmentHasSingleWildCard = new boolean[count];
+			for (int i = 0; i < count; i++) {
+				char[] chars = this.fragments[i].toCharArray();
+				char[] upper = new char[chars.length];
+				char[] lower = new char[chars.length];
+				for (int j = 0; j < chars.length; j++) {
+					upper[j] = Character.toUpperCase(chars[j]);
+					lower[j] = Character.toLowerCase(chars[j]);
+					if (chars[j] == fSingleWildCard) {
+						this.fragmentHasSingleWildCard[i] = true;
+					}
+				}
+				this.fragmentChars[i] = chars;
+				this.upperFragmentChars[i] = upper;
+				this.lowerFragmentChars[i] = lower;
+			}
+		}
+
+		/**
+		 * Same as {@link StringMatcher#regExpRegionMatches} for the whole
+		 * fragment at <code>index</code>, using the precomputed case forms.
+		 */
+		private boolean fragmentMatches(String text, int tStart, int index) {
+			char[] chars = this.fragmentChars[index];
+			char[] upper = this.upperFragmentChars[index];
+			char[] lower = this.lowerFragmentChars[index];
+			for (int j = 0; j < chars.length; j++) {
+				char pchar = chars[j];
+				/* skip single wild cards */
+				if (pchar == fSingleWildCard) {
+					continue;
+				}
+				char tchar = text.charAt(tStart + j);
+				if (pchar == tchar) {
+					continue;
+				}
+				if (fIgnoreCase) {
+					if (Character.toUpperCase(tchar) == upper[j]) {
+						continue;
+					}
+					// comparing after converting to upper case doesn't handle all cases;
+					// also compare after converting to lower case
+					if (Character.toLowerCase(tchar) == lower[j]) {
+						continue;
+					}
+				}
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * @return the starting index in the text of the fragment at
+		 *         <code>index</code>, or -1 if not found
+		 */
+		private int fragmentPosIn(String text, int start, int end, int index) {
+			int max = end - this.fragmentChars[index].length;
+			if (!fIgnoreCase && !this.fragmentHasSingleWildCard[index]) {
+				int i = text.indexOf(this.fragments[index], start);
+				if (i == -1 || i > max) {
+					return -1;
+				}
+				return i;
+			}
+			for (int i = start; i <= max; ++i) {
+				if (fragmentMatches(text, i, index)) {
+					return i;
+				}
+			}
+			return -1;
 		}
 
 		boolean match(String text, int start, int end) {
@@ -142,17 +230,17 @@ public class StringMatcher {
 			}
 
 			int tCurPos = start;
-			int bound = end - this.bound;
-			if (bound < 0) {
+			// the region must be long enough for all fragments
+			if (end - start < this.bound) {
 				return false;
 			}
 			int i = 0;
-			String current = segments[i];
-			int segLength = current.length();
+			int current = i;
+			int segLength = this.fragmentChars[current].length;
 
 			/* process first segment */
 			if (!hasLeadingStar) {
-				if (!regExpRegionMatches(text, start, current, 0, segLength)) {
+				if (!fragmentMatches(text, start, current)) {
 					return false;
 				}
 				++i;
@@ -166,30 +254,21 @@ public class StringMatcher {
 			}
 			/* process middle segments */
 			while (i < segCount && found) {
-				current = segments[i];
-				int currentMatch;
-				int k = current.indexOf(fSingleWildCard);
-				if (k < 0) {
-					currentMatch = textPosIn(text, tCurPos, end, current);
-					if (currentMatch < 0) {
-						found = false;
-					}
-				} else {
-					currentMatch = regExpPosIn(text, tCurPos, end, current);
-					if (currentMatch < 0) {
-						found = false;
-					}
+				current = i;
+				int currentMatch = fragmentPosIn(text, tCurPos, end, current);
+				if (currentMatch < 0) {
+					found = false;
 				}
 				if (!found)
 					return false;
-				tCurPos = currentMatch + current.length();
+				tCurPos = currentMatch + this.fragmentChars[current].length;
 				i++;
 			}
 
 			/* process final segment */
 			if (!hasTrailingStar && tCurPos != end) {
-				int clen = current.length();
-				if (regExpRegionMatches(text, end - clen, current, 0, clen))
+				int clen = this.fragmentChars[current].length;
+				if (fragmentMatches(text, end - clen, current))
 					return true;
 				return false;
 			}
@@ -206,16 +285,33 @@ public class StringMatcher {
 		 *         given text
 		 */
 		public boolean matchTextWord(String text, int start, int end) {
-			String[] textWords = getWords(text.substring(start, end));
-			if (textWords.length == 0) {
-				return pattern.isEmpty();
+			// match the words in place instead of collecting them into
+			// substrings as getWords(String) does
+			String region = text;
+			int offset = 0;
+			if (start != 0 || end != text.length()) {
+				region = text.substring(start, end);
+				offset = start;
 			}
-			for (String subword : textWords) {
-				if (match(subword, 0, subword.length())) {
-					return true;
+			int length = region.length();
+			BreakIterator iter = BreakIterator.getWordInstance();
+			iter.setText(region);
+			boolean foundWord = false;
+			int i = iter.first();
+			while (i != java.text.BreakIterator.DONE && i < length) {
+				int j = iter.following(i);
+				if (j == java.text.BreakIterator.DONE) {
+					j = length;
+				}
+				if (Character.isLetterOrDigit(region.charAt(i))) {
+					foundWord = true;
+					if (match(text, offset + i, offset + j)) {
+						return true;
+					}
 				}
+				i = j;
 			}
-			return false;
+			return foundWord ? false : pattern.isEmpty();
 		}
 
     }
@@ -18,6 +18,7 @@
 package org.eclipse.ui.internal.quickaccess;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -429,6 +430,9 @@ public abstract class QuickAccessContents {
 				}
 				if (filter.length() > 0 || provider.isAlwaysPresent() || showAllMatches) {
 					QuickAccessElement[] sortedElements = provider.getElementsSorted();
+					// only visit the elements that can match the filter
+					BitSet candidates = filter.length() == 0 || isPreviousPickProvider ? null
+							: getCandidates(provider, filter);
 
 					// count previous picks and store ids
 					if (isPreviousPickProvider) {
@@ -437,6 +441,9 @@ public abstract class QuickAccessContents {
 					}
 
 					int j = indexPerProvider[i];
+					if (candidates != null) {
+						j = nextCandidate(candidates, j, sortedElements.length);
+					}
 					// loops on all the elements of a provider
 					while (j < sortedElements.length
 							&& (showAllMatches || (count < countPerProvider && countTotal < maxCount))) {
@@ -444,7 +451,7 @@ public abstract class QuickAccessContents {
 
 						// Skip element if already in contained amid previous picks
 						if (!isPreviousPickProvider && prevPickIds.contains(element.getId())) {
-							j++;
+							j = candidates == null ? j + 1 : nextCandidate(candidates, j + 1, sortedElements.length);
 							continue;
 						}
 
@@ -473,7 +480,7 @@ public abstract class QuickAccessContents {
 							}
 						}
 
-						j++;
+						j = candidates == null ? j + 1 : nextCandidate(candidates, j + 1, sortedElements.length);
 					}
 
 					indexPerProvider[i] = j;
@@ -505,6 +512,20 @@ public abstract class QuickAccessContents {
 		return entries;
 	}
 
+	/**
+	 * @return the candidates of the provider's index for the given filter, or
+	 *         <code>null</code> if all elements have to be matched
+	 */
+	private BitSet getCandidates(QuickAccessProvider provider, String filter) {
+		QuickAccessIndex index = provider.getIndex();
+		return index == null ? null : index.getCandidates(filter);
+	}
+
+	private static int nextCandidate(BitSet candidates, int from, int length) {
+		int next = candidates.nextSetBit(from);
+		return next == -1 ? length : next;
+	}
+
 	Pattern categoryPattern;
 
 	/**
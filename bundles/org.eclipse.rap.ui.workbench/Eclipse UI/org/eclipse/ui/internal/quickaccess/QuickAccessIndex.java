@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.quickaccess;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A character index over the sorted elements of a {@link QuickAccessProvider}.
+ * <p>
+ * Every way {@link QuickAccessElement#match(String, QuickAccessProvider)} can
+ * accept a filter made of letters, digits and whitespace (substring, word
+ * sequence, camel case, optionally prefixed by the provider name) requires
+ * each non-whitespace character of the filter to occur in the lower case
+ * provider name or labels of the element. The index keeps one bit set per
+ * character, so the candidates for a filter are the intersection of the bit
+ * sets of its characters. Only candidates need to be matched; all other
+ * elements are skipped without being looked at.
+ * </p>
+ * <p>
+ * Filters containing any other character (wildcards, parentheses, characters
+ * with a meaning in regular expressions) are not narrowed, see
+ * {@link #getCandidates(String)}.
+ * </p>
+ */
+class QuickAccessIndex {
+
+	private static final int ASCII_LIMIT = 128;
+
+	private final int size;
+
+	private final BitSet[] asciiPostings = new BitSet[ASCII_LIMIT];
+
+	private final Map<Character, BitSet> otherPostings = new HashMap<>();
+
+	private String lastFilter;
+
+	private BitSet lastCandidates;
+
+	/**
+	 * Builds the index for the given elements, in the given order.
+	 *
+	 * @param provider
+	 *            the provider the elements are matched against
+	 * @param sortedElements
+	 *            the elements as returned by
+	 *            {@link QuickAccessProvider#getElementsSorted()}
+	 */
+	QuickAccessIndex(QuickAccessProvider provider, QuickAccessElement[] sortedElements) {
+		this.size = sortedElements.length;
+		for (int i = 0; i < size; i++) {
+			QuickAccessElement element = sortedElements[i];
+			String label = element.getLabel();
+			String matchLabel = element.getMatchLabel();
+			if (label != null) {
+				addAll(label, i);
+			}
+			if (matchLabel != null && !matchLabel.equals(label)) {
+				addAll(matchLabel, i);
+			}
+		}
+		String providerName = provider.getName();
+		if (providerName != null) {
+			// every element is also matched prefixed with the provider name
+			addAll(providerName, -1);
+		}
+	}
+
+	/**
+	 * Adds the characters of the given text to the element at the given index,
+	 * or to all elements if the index is -1.
+	 */
+	private void addAll(String text, int index) {
+		// index the characters of the lower cased text as well as the lower
+		// cased characters, as lower casing is not always done per character
+		String lowerCase = text.toLowerCase();
+		for (int i = 0; i < lowerCase.length(); i++) {
+			add(lowerCase.charAt(i), index);
+		}
+		for (int i = 0; i < text.length(); i++) {
+			add(Character.toLowerCase(text.charAt(i)), index);
+		}
+	}
+
+	private void add(char c, int index) {
+		if (Character.isWhitespace(c)) {
+			return;
+		}
+		BitSet posting = getPosting(c);
+		if (posting == null) {
+			posting = new BitSet(size);
+			if (c < ASCII_LIMIT) {
+				asciiPostings[c] = posting;
+			} else {
+				otherPostings.put(Character.valueOf(c), posting);
+			}
+		}
+		if (index == -1) {
+			posting.set(0, size);
+		} else {
+			posting.set(index);
+		}
+	}
+
+	private BitSet getPosting(char c) {
+		return c < ASCII_LIMIT ? asciiPostings[c] : otherPostings.get(Character.valueOf(c));
+	}
+
+	/**
+	 * Returns the indices of the elements that may match the given lower case
+	 * filter, or <code>null</code> if the filter cannot be narrowed with this
+	 * index and every element has to be matched.
+	 * <p>
+	 * The result of the previous call is kept, so typing one more character
+	 * only intersects the previous candidates with the bit set of that
+	 * character. The returned bit set must not be modified.
+	 * </p>
+	 *
+	 * @param filter
+	 *            the lower case filter
+	 * @return the candidate indices, or <code>null</code>
+	 */
+	BitSet getCandidates(String filter) {
+		if (filter.equals(lastFilter)) {
+			return lastCandidates;
+		}
+		for (int i = 0; i < filter.length(); i++) {
+			char c = filter.charAt(i);
+			if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+				return null;
+			}
+		}
+		BitSet candidates;
+		int from;
+		if (lastFilter != null && lastCandidates != null && filter.startsWith(lastFilter)) {
+			candidates = (BitSet) lastCandidates.clone();
+			from = lastFilter.length();
+		} else {
+			candidates = new BitSet(size);
+			candidates.set(0, size);
+			from = 0;
+		}
+		for (int i = from; i < filter.length() && !candidates.isEmpty(); i++) {
+			char c = filter.charAt(i);
+			if (Character.isWhitespace(c)) {
+				continue;
+			}
+			BitSet posting = getPosting(c);
+			if (posting == null) {
+				candidates.clear();
+			} else {
+				candidates.and(posting);
+			}
+		}
+		lastFilter = filter;
+		lastCandidates = candidates;
+		return candidates;
+	}
+}
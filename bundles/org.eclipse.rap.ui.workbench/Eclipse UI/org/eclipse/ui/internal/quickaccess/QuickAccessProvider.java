@@ -25,6 +25,8 @@ public abstract class QuickAccessProvider {
 
 	private QuickAccessElement[] sortedElements;
 
+	private QuickAccessIndex index;
+
 	/**
 	 * Returns the unique ID of this provider.
 	 *
@@ -61,6 +63,25 @@ public abstract class QuickAccessProvider {
 		return sortedElements;
 	}
 
+	/**
+	 * Returns the index over {@link #getElementsSorted()}, building it on first
+	 * use. The index is kept until this provider is {@link #reset()}.
+	 *
+	 * @return the index, or <code>null</code> if this provider does not cache
+	 *         its sorted elements and cannot be indexed
+	 */
+	QuickAccessIndex getIndex() {
+		if (index == null) {
+			QuickAccessElement[] elements = getElementsSorted();
+			if (elements != sortedElements) {
+				// elements are computed on each call, nothing to index
+				return null;
+			}
+			index = new QuickAccessIndex(this, elements);
+		}
+		return index;
+	}
+
 	/**
 	 * Returns the element for the given ID if available, or null if no matching
 	 * element is available.
@@ -77,6 +98,7 @@ public abstract class QuickAccessProvider {
 
 	public void reset() {
 		sortedElements = null;
+		index = null;
 		doReset();
 	}
 
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.registry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.IRegistryChangeEvent;
+import org.eclipse.core.runtime.IRegistryChangeListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Invalidates the caches of registry data that are shared by all sessions.
+ * A single listener is added to the platform extension registry when the
+ * first cache is registered. It is removed, and all caches are invalidated,
+ * when the workbench plug-in stops.
+ * <p>
+ * The lookups of the caches are counted, so that the effect of reading them
+ * ahead of the first session can be observed.
+ * </p>
+ * <p>
+ * This is only intended for use within the workbench plug-in.
+ * </p>
+ */
+public final class SharedRegistryCaches {
+
+	private static final class Cache {
+		final Predicate<IRegistryChangeEvent> affects;
+		final Runnable invalidate;
+
+		Cache(Predicate<IRegistryChangeEvent> affects, Runnable invalidate) {
+			this.affects = affects;
+			this.invalidate = invalidate;
+		}
+	}
+
+	private static final Map<Object, Cache> caches = new LinkedHashMap<>();
+
+	private static IRegistryChangeListener registryListener;
+
+	private static final AtomicLong hits = new AtomicLong();
+
+	private static final AtomicLong misses = new AtomicLong();
+
+	private SharedRegistryCaches() {
+		// not instantiated
+	}
+
+	/**
+	 * Registers a shared cache, unless a cache was already registered for
+	 * the given owner. The cache is invalidated whenever a registry change
+	 * affects it.
+	 *
+	 * @param owner
+	 *            the key of the cache, usually the class holding it
+	 * @param affects
+	 *            whether a registry change affects the cache
+	 * @param invalidate
+	 *            discards the cached data
+	 */
+	public static synchronized void register(Object owner, Predicate<IRegistryChangeEvent> affects,
+			Runnable invalidate) {
+		if (caches.containsKey(owner)) {
+			return;
+		}
+		if (registryListener == null) {
+			registryListener = SharedRegistryCaches::registryChanged;
+			Platform.getExtensionRegistry().addRegistryChangeListener(registryListener);
+		}
+		caches.put(owner, new Cache(affects, invalidate));
+	}
+
+	/**
+	 * Returns a predicate matching the registry changes of the given
+	 * extension points of the workbench.
+	 *
+	 * @param extensionPoints
+	 *            the simple ids of the extension points
+	 * @return the predicate
+	 */
+	public static Predicate<IRegistryChangeEvent> affectsExtensionPoints(final String... extensionPoints) {
+		return event -> {
+			for (String extensionPoint : extensionPoints) {
+				// RAP [bm] namespace
+				if (event.getExtensionDeltas(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+						extensionPoint).length > 0) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * Counts a lookup of a shared cache.
+	 *
+	 * @param hit
+	 *            whether the data was already cached, <code>false</code> if
+	 *            the lookup reads it from the registry
+	 */
+	public static void recordLookup(boolean hit) {
+		(hit ? hits : misses).incrementAndGet();
+	}
+
+	/**
+	 * @return the number of lookups that found the data cached
+	 */
+	public static long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups that read the data from the registry
+	 */
+	public static long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Removes the registry listener and invalidates all caches, so that they
+	 * are read again if the plug-in is restarted.
+	 */
+	public static void dispose() {
+		Cache[] registered;
+		IRegistryChangeListener listener;
+		synchronized (SharedRegistryCaches.class) {
+			registered = caches.values().toArray(new Cache[caches.size()]);
+			caches.clear();
+			listener = registryListener;
+			registryListener = null;
+			hits.set(0);
+			misses.set(0);
+		}
+		if (listener != null) {
+			IExtensionRegistry registry = Platform.getExtensionRegistry();
+			if (registry != null) {
+				registry.removeRegistryChangeListener(listener);
+			}
+		}
+		for (Cache cache : registered) {
+			cache.invalidate.run();
+		}
+	}
+
+	private static void registryChanged(IRegistryChangeEvent event) {
+		Cache[] registered;
+		synchronized (SharedRegistryCaches.class) {
+			registered = caches.values().toArray(new Cache[caches.size()]);
+		}
+		for (Cache cache : registered) {
+			if (cache.affects.test(event)) {
+				cache.invalidate.run();
+			}
+		}
+	}
+}
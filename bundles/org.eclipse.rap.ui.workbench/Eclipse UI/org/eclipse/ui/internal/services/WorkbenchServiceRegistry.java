@@ -37,6 +37,7 @@ import org.eclipse.ui.AbstractSourceProvider;
 import org.eclipse.ui.ISources;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.misc.StartupProfiler;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.services.AbstractServiceFactory;
 import org.eclipse.ui.services.IServiceLocator;
@@ -105,10 +106,23 @@ public class WorkbenchServiceRegistry implements IExtensionChangeHandler {
 			ServiceLocator locator) {
 		ServiceFactoryHandle handle = (ServiceFactoryHandle) factories.get(key.getName());
 		if (handle == null) {
-			handle = loadFromRegistry(key);
+			StartupProfiler.Phase phase = StartupProfiler.start("WorkbenchServiceRegistry.loadFromRegistry"); //$NON-NLS-1$
+			try {
+				handle = loadFromRegistry(key);
+			} finally {
+				phase.end();
+			}
 		}
 		if (handle != null) {
-			Object result = handle.factory.create(key, parentLocator, locator);
+			// only build the phase name when profiling
+			StartupProfiler.Phase phase = StartupProfiler.start(
+					StartupProfiler.ENABLED ? "serviceFactory " + key.getName() : null); //$NON-NLS-1$
+			Object result;
+			try {
+				result = handle.factory.create(key, parentLocator, locator);
+			} finally {
+				phase.end();
+			}
 			if (result != null) {
 				handle.serviceLocators.put(locator, new Object());
 				return result;
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui;
+
+import static org.junit.Assert.assertFalse;
+
+import java.util.Collection;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks of the workbench inside the OSGi runtime of the
+ * test harness and writes the results as JSON.
+ * <p>
+ * The benchmarks to run are selected with the <code>benchmarks.include</code>
+ * system property (a regular expression), the result file is given by
+ * <code>benchmarks.result</code>.
+ * </p>
+ */
+public class WorkbenchBenchmarks {
+
+	@Test
+	public void runBenchmarks() throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(System.getProperty("benchmarks.include", ".*Benchmark")) //$NON-NLS-1$ //$NON-NLS-2$
+				// the benchmarks need the bundles of the running framework
+				.forks(0)
+				.warmupIterations(3)
+				.warmupTime(TimeValue.seconds(1))
+				.measurementIterations(5)
+				.measurementTime(TimeValue.seconds(1))
+				.resultFormat(ResultFormatType.JSON)
+				.result(System.getProperty("benchmarks.result", "jmh-result.json")) //$NON-NLS-1$ //$NON-NLS-2$
+				.build();
+
+		Collection<RunResult> results = new Runner(options).run();
+
+		assertFalse(results.isEmpty());
+	}
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures reading and writing of workbench state through {@link XMLMemento}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XMLMementoBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	public int childCount;
+
+	private String content;
+
+	@Setup
+	public void setUp() throws IOException {
+		content = write();
+	}
+
+	@Benchmark
+	public String write() throws IOException {
+		XMLMemento memento = XMLMemento.createWriteRoot("workbench"); //$NON-NLS-1$
+		for (int i = 0; i < childCount; i++) {
+			IMemento child = memento.createChild("view"); //$NON-NLS-1$
+			child.putString("id", "org.eclipse.ui.views.View" + i); //$NON-NLS-1$ //$NON-NLS-2$
+			child.putInteger("ratio", i); //$NON-NLS-1$
+			child.createChild("state").putTextData("text " + i); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		StringWriter writer = new StringWriter();
+		memento.save(writer);
+		return writer.toString();
+	}
+
+	@Benchmark
+	public XMLMemento read() throws WorkbenchException {
+		return XMLMemento.createReadRoot(new StringReader(content));
+	}
+
+	@Benchmark
+	public String roundTrip() throws WorkbenchException, IOException {
+		XMLMemento memento = XMLMemento.createReadRoot(new StringReader(content));
+		StringWriter writer = new StringWriter();
+		memento.save(writer);
+		return writer.toString();
+	}
+}
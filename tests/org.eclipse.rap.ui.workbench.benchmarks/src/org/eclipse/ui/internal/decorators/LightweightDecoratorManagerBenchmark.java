@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookup of the lightweight decorators that apply to the
+ * elements of a viewer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LightweightDecoratorManagerBenchmark {
+
+	private static final String[] OBJECT_CLASSES = { "java.lang.Object", //$NON-NLS-1$
+			"java.lang.CharSequence", "java.lang.Number", "java.util.List" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	@Param({ "10", "50" })
+	public int decoratorCount;
+
+	private LightweightDecoratorManager manager;
+
+	private Object[] elements;
+
+	@Setup
+	public void setUp() {
+		LightweightDecoratorDefinition[] definitions = new LightweightDecoratorDefinition[decoratorCount];
+		for (int i = 0; i < decoratorCount; i++) {
+			String id = "org.eclipse.ui.benchmarks.decorator" + i; //$NON-NLS-1$
+			definitions[i] = new LightweightDecoratorDefinition(id,
+					createElement(id, OBJECT_CLASSES[i % OBJECT_CLASSES.length]));
+		}
+		manager = new LightweightDecoratorManager(definitions);
+		elements = new Object[1000];
+		for (int i = 0; i < elements.length; i++) {
+			switch (i % 4) {
+			case 0:
+				elements[i] = "element" + i; //$NON-NLS-1$
+				break;
+			case 1:
+				elements[i] = Integer.valueOf(i);
+				break;
+			case 2:
+				elements[i] = new ArrayList<>(Arrays.asList(Integer.valueOf(i)));
+				break;
+			default:
+				elements[i] = new Object();
+			}
+		}
+	}
+
+	@Benchmark
+	public void getDecoratorsFor(Blackhole blackhole) {
+		for (Object element : elements) {
+			blackhole.consume(manager.getDecoratorsFor(element));
+		}
+	}
+
+	private static IConfigurationElement createElement(String id, String objectClass) {
+		InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				switch (method.getName()) {
+				case "getAttribute": //$NON-NLS-1$
+					return getAttribute((String) args[0]);
+				case "getChildren": //$NON-NLS-1$
+					return new IConfigurationElement[0];
+				case "isValid": //$NON-NLS-1$
+					return Boolean.TRUE;
+				case "equals": //$NON-NLS-1$
+					return Boolean.valueOf(proxy == args[0]);
+				case "hashCode": //$NON-NLS-1$
+					return Integer.valueOf(System.identityHashCode(proxy));
+				case "toString": //$NON-NLS-1$
+					return id;
+				default:
+					throw new UnsupportedOperationException(method.getName());
+				}
+			}
+
+			private String getAttribute(String name) {
+				switch (name) {
+				case "id": //$NON-NLS-1$
+				case "label": //$NON-NLS-1$
+					return id;
+				case "state": //$NON-NLS-1$
+					return "true"; //$NON-NLS-1$
+				case "objectClass": //$NON-NLS-1$
+					return objectClass;
+				default:
+					return null;
+				}
+			}
+		};
+		return (IConfigurationElement) Proxy.newProxyInstance(
+				LightweightDecoratorManagerBenchmark.class.getClassLoader(),
+				new Class<?>[] { IConfigurationElement.class }, handler);
+	}
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.handlers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.commands.Category;
+import org.eclipse.core.commands.common.CommandException;
+import org.eclipse.e4.core.commands.CommandServiceAddon;
+import org.eclipse.e4.core.commands.ECommandService;
+import org.eclipse.e4.core.commands.EHandlerService;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.EclipseContextFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.di.annotations.Execute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the execution of a command through the
+ * {@link LegacyHandlerService}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LegacyHandlerServiceBenchmark {
+
+	private static final String COMMAND_ID = "org.eclipse.ui.benchmarks.command"; //$NON-NLS-1$
+
+	private IEclipseContext context;
+
+	private LegacyHandlerService service;
+
+	@Setup
+	public void setUp() {
+		context = EclipseContextFactory.create("benchmark"); //$NON-NLS-1$
+		ContextInjectionFactory.make(CommandServiceAddon.class, context);
+		ECommandService commandService = context.get(ECommandService.class);
+		Category category = commandService.defineCategory("org.eclipse.ui.benchmarks.category", //$NON-NLS-1$
+				"Benchmarks", null); //$NON-NLS-1$
+		commandService.defineCommand(COMMAND_ID, "Benchmark", null, category, null); //$NON-NLS-1$
+		context.get(EHandlerService.class).activateHandler(COMMAND_ID, new CountingHandler());
+		service = new LegacyHandlerService(context, null);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Benchmark
+	public Object executeCommand() throws CommandException {
+		return service.executeCommand(COMMAND_ID, null);
+	}
+
+	public static final class CountingHandler {
+
+		private int count;
+
+		@Execute
+		public Integer execute() {
+			count++;
+			return Integer.valueOf(count);
+		}
+	}
+}
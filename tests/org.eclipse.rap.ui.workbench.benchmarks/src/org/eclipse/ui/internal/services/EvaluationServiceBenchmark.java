@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.services;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.expressions.EvaluationResult;
+import org.eclipse.core.expressions.Expression;
+import org.eclipse.core.expressions.ExpressionInfo;
+import org.eclipse.core.expressions.IEvaluationContext;
+import org.eclipse.e4.core.contexts.EclipseContextFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the re-evaluation of the expressions registered with the
+ * {@link EvaluationService} when a source variable changes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EvaluationServiceBenchmark {
+
+	private static final String VARIABLE = "org.eclipse.ui.benchmarks.counter"; //$NON-NLS-1$
+
+	@Param({ "10", "100", "1000" })
+	public int listenerCount;
+
+	private IEclipseContext context;
+
+	private EvaluationService service;
+
+	private int counter;
+
+	private int changes;
+
+	@Setup
+	public void setUp() {
+		IEclipseContext root = EclipseContextFactory.create("benchmark"); //$NON-NLS-1$
+		root.set(IEventBroker.class, createEventBroker());
+		context = root.createChild("window"); //$NON-NLS-1$
+		context.set(VARIABLE, Integer.valueOf(counter));
+		service = new EvaluationService(context);
+		IPropertyChangeListener listener = event -> changes++;
+		for (int i = 0; i < listenerCount; i++) {
+			service.addEvaluationListener(new EvenExpression(), listener, "enabled" + i); //$NON-NLS-1$
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		service.dispose();
+	}
+
+	@Benchmark
+	public int changeVariable() {
+		counter++;
+		context.set(VARIABLE, Integer.valueOf(counter));
+		return changes;
+	}
+
+	private static IEventBroker createEventBroker() {
+		// events are not delivered, all methods of the broker return a boolean
+		return (IEventBroker) Proxy.newProxyInstance(EvaluationServiceBenchmark.class.getClassLoader(),
+				new Class<?>[] { IEventBroker.class }, (proxy, method, args) -> {
+					switch (method.getName()) {
+					case "equals": //$NON-NLS-1$
+						return Boolean.valueOf(proxy == args[0]);
+					case "hashCode": //$NON-NLS-1$
+						return Integer.valueOf(System.identityHashCode(proxy));
+					case "toString": //$NON-NLS-1$
+						return "IEventBroker"; //$NON-NLS-1$
+					default:
+						return Boolean.TRUE;
+					}
+				});
+	}
+
+	private static final class EvenExpression extends Expression {
+
+		@Override
+		public EvaluationResult evaluate(IEvaluationContext context) {
+			Object value = context.getVariable(VARIABLE);
+			return EvaluationResult.valueOf(value instanceof Integer && ((Integer) value).intValue() % 2 == 0);
+		}
+
+		@Override
+		public void collectExpressionInfo(ExpressionInfo info) {
+			info.addVariableNameAccess(VARIABLE);
+		}
+	}
+}
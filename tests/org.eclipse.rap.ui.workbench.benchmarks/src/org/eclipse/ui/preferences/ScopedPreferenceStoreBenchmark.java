@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.preferences;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.ui.internal.preferences.SessionScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures changing and saving the session preferences of a
+ * {@link ScopedPreferenceStore}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScopedPreferenceStoreBenchmark {
+
+	private static final String QUALIFIER = "org.eclipse.rap.ui.workbench.benchmarks"; //$NON-NLS-1$
+
+	private static final int KEY_COUNT = 20;
+
+	private ScopedPreferenceStore store;
+
+	private int counter;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Fixture.setUp();
+		store = new ScopedPreferenceStore(new SessionScope(), QUALIFIER);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		Fixture.tearDown();
+	}
+
+	@Benchmark
+	public void setValues() {
+		counter++;
+		for (int i = 0; i < KEY_COUNT; i++) {
+			store.setValue("key" + i, counter + i); //$NON-NLS-1$
+		}
+	}
+
+	@Benchmark
+	public void setValuesAndSave() throws IOException {
+		setValues();
+		store.save();
+	}
+}
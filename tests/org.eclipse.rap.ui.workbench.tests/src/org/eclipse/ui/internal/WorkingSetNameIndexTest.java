@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.ui.IWorkingSet;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkingSetNameIndexTest {
+
+	private List<IWorkingSet> workingSets;
+	private WorkingSetNameIndex index;
+
+	@Before
+	public void setUp() {
+		workingSets = new ArrayList<>();
+		index = new WorkingSetNameIndex(workingSets);
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		TestWorkingSet a = new TestWorkingSet("A"); //$NON-NLS-1$
+		add(a);
+
+		assertSame(a.proxy, index.get("A")); //$NON-NLS-1$
+
+		remove(a);
+
+		assertNull(index.get("A")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRename() {
+		TestWorkingSet a = new TestWorkingSet("A"); //$NON-NLS-1$
+		add(a);
+
+		rename(a, "B"); //$NON-NLS-1$
+
+		assertNull(index.get("A")); //$NON-NLS-1$
+		assertSame(a.proxy, index.get("B")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveKeepsWorkingSetWithSameName() {
+		TestWorkingSet first = new TestWorkingSet("A"); //$NON-NLS-1$
+		TestWorkingSet second = new TestWorkingSet("A"); //$NON-NLS-1$
+		add(first);
+		add(second);
+
+		remove(first);
+
+		assertSame(second.proxy, index.get("A")); //$NON-NLS-1$
+	}
+
+	/**
+	 * The working set selection dialog renames a working set, removes it, and
+	 * on cancel renames it back while it is not held by the manager, then adds
+	 * it again.
+	 */
+	@Test
+	public void testRenameRemoveAndCancel() {
+		TestWorkingSet a = new TestWorkingSet("A"); //$NON-NLS-1$
+		add(a);
+		rename(a, "B"); //$NON-NLS-1$
+		remove(a);
+
+		rename(a, "A"); //$NON-NLS-1$
+
+		assertNull(index.get("A")); //$NON-NLS-1$
+		assertNull(index.get("B")); //$NON-NLS-1$
+
+		add(a);
+
+		assertSame(a.proxy, index.get("A")); //$NON-NLS-1$
+		assertNull(index.get("B")); //$NON-NLS-1$
+	}
+
+	private void add(TestWorkingSet workingSet) {
+		workingSets.add(workingSet.proxy);
+		index.added(workingSet.proxy);
+	}
+
+	private void remove(TestWorkingSet workingSet) {
+		workingSets.remove(workingSet.proxy);
+		index.removed(workingSet.proxy);
+	}
+
+	private void rename(TestWorkingSet workingSet, String name) {
+		String oldName = workingSet.name;
+		workingSet.name = name;
+		index.renamed(workingSet.proxy, oldName);
+	}
+
+	private static final class TestWorkingSet {
+
+		String name;
+
+		final IWorkingSet proxy;
+
+		TestWorkingSet(String name) {
+			this.name = name;
+			this.proxy = (IWorkingSet) Proxy.newProxyInstance(IWorkingSet.class.getClassLoader(),
+					new Class<?>[] { IWorkingSet.class }, (instance, method, args) -> {
+						switch (method.getName()) {
+						case "getName": //$NON-NLS-1$
+							return this.name;
+						case "equals": //$NON-NLS-1$
+							return Boolean.valueOf(instance == args[0]);
+						case "hashCode": //$NON-NLS-1$
+							return Integer.valueOf(System.identityHashCode(instance));
+						default:
+							throw new UnsupportedOperationException(method.getName());
+						}
+					});
+		}
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Collections;
+import java.util.Set;
+import org.eclipse.core.commands.CommandManager;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.EclipseContextFactory;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.ui.internal.registry.SharedRegistryCaches;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandPersistenceTest {
+
+	@Before
+	public void setUp() {
+		Fixture.setUp();
+	}
+
+	@After
+	public void tearDown() {
+		Fixture.tearDown();
+	}
+
+	@Test
+	public void testSecondSessionDoesNotReadRegistry() {
+		CommandManager first = readCommands();
+		long misses = SharedRegistryCaches.getMisses();
+		Fixture.tearDown();
+		Fixture.setUp();
+
+		CommandManager second = readCommands();
+
+		assertEquals(misses, SharedRegistryCaches.getMisses());
+		assertEquals(first.getDefinedCommandIds(), second.getDefinedCommandIds());
+	}
+
+	@Test
+	public void testCommandsAreCreatedPerCommandManager() {
+		CommandManager first = readCommands();
+		CommandManager second = readCommands();
+
+		Set<?> ids = first.getDefinedCommandIds();
+		assertFalse(ids.isEmpty());
+		assertEquals(ids.size(), second.getDefinedCommandIds().size());
+		for (Object id : ids) {
+			assertNotSame(first.getCommand((String) id), second.getCommand((String) id));
+		}
+	}
+
+	@Test
+	public void testReadDoesNotAddSessionAttributes() {
+		readCommands();
+		int attributeCount = getSessionAttributeCount();
+
+		readCommands();
+
+		assertEquals(attributeCount, getSessionAttributeCount());
+	}
+
+	private static CommandManager readCommands() {
+		CommandManager commandManager = new CommandManager();
+		CommandPersistence persistence = new CommandPersistence(commandManager);
+		ContextInjectionFactory.inject(persistence, EclipseContextFactory.create());
+		persistence.reRead();
+		persistence.dispose();
+		return commandManager;
+	}
+
+	private static int getSessionAttributeCount() {
+		return Collections.list(RWT.getUISession().getAttributeNames()).size();
+	}
+}
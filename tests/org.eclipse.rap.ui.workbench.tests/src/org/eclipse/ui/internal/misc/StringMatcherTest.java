@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2026 EclipseSource and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.misc;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class StringMatcherTest {
+
+	@Test
+	public void testPatternLongerThanLastWord() {
+		StringMatcher matcher = new StringMatcher("abcd*", true, false); //$NON-NLS-1$
+
+		assertFalse(matcher.match("x ab")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testPatternMatchesLastWord() {
+		StringMatcher matcher = new StringMatcher("abcd*", true, false); //$NON-NLS-1$
+
+		assertTrue(matcher.match("x abcde")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testPatternMatchesWordInText() {
+		StringMatcher matcher = new StringMatcher("ab*", true, false); //$NON-NLS-1$
+
+		assertTrue(matcher.match("x abc y")); //$NON-NLS-1$
+		assertFalse(matcher.match("x acb y")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testMultipleWords() {
+		StringMatcher matcher = new StringMatcher("ope edi*", true, false); //$NON-NLS-1$
+
+		assertTrue(matcher.match("Open Editor")); //$NON-NLS-1$
+		assertFalse(matcher.match("Open View")); //$NON-NLS-1$
+	}
+}